@@ -18,11 +18,15 @@
  */
 package org.apache.maven.shared.artifact.filter;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import org.apache.maven.artifact.Artifact;
-import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
-import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
 import org.apache.maven.artifact.versioning.VersionRange;
 
@@ -43,24 +47,41 @@ import org.apache.maven.artifact.versioning.VersionRange;
  *
  * @author <a href="mailto:markhobson@gmail.com">Mark Hobson</a>
  */
-public abstract class AbstractStrictPatternArtifactFilter implements ArtifactFilter {
+public abstract class AbstractStrictPatternArtifactFilter implements BatchArtifactFilter {
     // fields -----------------------------------------------------------------
 
     /**
-     * The list of artifact patterns to match, as described above.
+     * The compiled patterns whose groupId segment is an exact match, by groupId.
      */
-    private final List<String> patterns;
+    private final Map<String, CompiledPattern[]> patternsByGroupId;
+
+    /**
+     * The other compiled patterns.
+     */
+    private final CompiledPattern[] patterns;
 
     /**
      * Whether this filter should include or exclude artifacts that match the patterns.
      */
     private final boolean include;
 
+    /**
+     * The version range matchers of the patterns, shared by the patterns with the same range.
+     */
+    private final VersionRangeMatcher[] versionRanges;
+
+    /**
+     * Whether {@link #includeAll(List, BitSet)} may bypass {@link #include(Artifact)}, which is only the case when it
+     * may not have been overridden
+     */
+    private final boolean batchable = getClass() == StrictPatternIncludesArtifactFilter.class
+            || getClass() == StrictPatternExcludesArtifactFilter.class;
+
     // constructors -----------------------------------------------------------
 
     /**
      * Creates a new filter that matches the specified artifact patterns and includes or excludes them according to the
-     * specified flag.
+     * specified flag. The patterns are compiled once, later changes to the list are not reflected by the filter.
      *
      * @param patterns
      *            the list of artifact patterns to match, as described above
@@ -69,103 +90,287 @@ public abstract class AbstractStrictPatternArtifactFilter implements ArtifactFil
      *            them
      */
     public AbstractStrictPatternArtifactFilter(List<String> patterns, boolean include) {
-        this.patterns = patterns;
         this.include = include;
+
+        Map<String, VersionRangeMatcher> versionRanges = new HashMap<>();
+        Map<String, List<CompiledPattern>> byGroupId = new HashMap<>();
+        List<CompiledPattern> others = new ArrayList<>();
+        if (patterns != null) {
+            for (String pattern : patterns) {
+                CompiledPattern compiled = compile(pattern, versionRanges);
+                if (compiled == null) {
+                    // more segments than coordinates, never matches
+                    continue;
+                }
+                if (compiled.segments.length > 0 && compiled.segments[0] instanceof ExactSegment) {
+                    String groupId = ((ExactSegment) compiled.segments[0]).value;
+                    byGroupId.computeIfAbsent(groupId, k -> new ArrayList<>()).add(compiled);
+                } else {
+                    others.add(compiled);
+                }
+            }
+        }
+
+        this.patternsByGroupId = new HashMap<>();
+        for (Map.Entry<String, List<CompiledPattern>> entry : byGroupId.entrySet()) {
+            this.patternsByGroupId.put(entry.getKey(), entry.getValue().toArray(new CompiledPattern[0]));
+        }
+        this.patterns = others.toArray(new CompiledPattern[0]);
+        this.versionRanges = versionRanges.values().toArray(new VersionRangeMatcher[0]);
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the version range patterns: how many versions were checked against a
+     * range without being parsed again, the outcome being cached, and how many were parsed. The other statistics are
+     * not collected by this filter.
+     *
+     * @return the statistics, with only the version cache counts
+     * @since 3.4.1
+     */
+    public FilterStatistics getStatistics() {
+        long hits = 0;
+        long misses = 0;
+        for (VersionRangeMatcher versionRange : versionRanges) {
+            hits += versionRange.getHitCount();
+            misses += versionRange.getMissCount();
+        }
+        return new FilterStatistics(0, 0, 0, Collections.emptyMap(), 0, 0, hits, misses);
     }
 
     // ArtifactFilter methods -------------------------------------------------
 
     /** {@inheritDoc} */
     public boolean include(Artifact artifact) {
-        boolean matched = false;
+        String groupId = artifact.getGroupId();
+        String artifactId = artifact.getArtifactId();
+        String type = artifact.getType();
+        String baseVersion = artifact.getBaseVersion();
 
-        for (String pattern : patterns) {
-            if (include(artifact, pattern)) {
-                matched = true;
-                break;
-            }
-        }
+        boolean matched = matches(patternsByGroupId.get(groupId), groupId, artifactId, type, baseVersion)
+                || matches(patterns, groupId, artifactId, type, baseVersion);
 
         return include ? matched : !matched;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The patterns of a groupId are looked up once for consecutive artifacts sharing that groupId.
+     */
+    @Override
+    public void includeAll(List<Artifact> artifacts, BitSet out) {
+        if (!batchable) {
+            BatchArtifactFilter.super.includeAll(artifacts, out);
+            return;
+        }
+
+        String lastGroupId = null;
+        CompiledPattern[] groupIdPatterns = null;
+        for (int i = 0; i < artifacts.size(); i++) {
+            Artifact artifact = artifacts.get(i);
+            String groupId = artifact.getGroupId();
+            if (!Objects.equals(groupId, lastGroupId)) {
+                groupIdPatterns = patternsByGroupId.get(groupId);
+                lastGroupId = groupId;
+            }
+            String artifactId = artifact.getArtifactId();
+            String type = artifact.getType();
+            String baseVersion = artifact.getBaseVersion();
+
+            boolean matched = matches(groupIdPatterns, groupId, artifactId, type, baseVersion)
+                    || matches(patterns, groupId, artifactId, type, baseVersion);
+
+            out.set(i, include == matched);
+        }
+    }
+
     // private methods --------------------------------------------------------
 
+    private static boolean matches(
+            CompiledPattern[] patterns, String groupId, String artifactId, String type, String baseVersion) {
+        if (patterns != null) {
+            for (CompiledPattern pattern : patterns) {
+                if (pattern.matches(groupId, artifactId, type, baseVersion)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
-     * Gets whether the specified artifact matches the specified pattern.
+     * Compiles the specified pattern.
      *
-     * @param artifact
-     *            the artifact to check
      * @param pattern
-     *            the pattern to match, as defined above
-     * @return <code>true</code> if the specified artifact is matched by the specified pattern
+     *            the pattern to compile, as defined above
+     * @param versionRanges
+     *            the version ranges parsed so far, by pattern segment
+     * @return the compiled pattern, or <code>null</code> if the pattern has more segments than can be matched
      */
-    private boolean include(Artifact artifact, String pattern) {
-        String[] tokens = new String[] {
-            artifact.getGroupId(), artifact.getArtifactId(), artifact.getType(), artifact.getBaseVersion()
-        };
-
+    private static CompiledPattern compile(String pattern, Map<String, VersionRangeMatcher> versionRanges) {
         String[] patternTokens = pattern.split(":");
 
         // fail immediately if pattern tokens outnumber tokens to match
-        boolean matched = patternTokens.length <= tokens.length;
-
-        for (int i = 0; matched && i < patternTokens.length; i++) {
-            matched = matches(tokens[i], patternTokens[i]);
+        if (patternTokens.length > 4) {
+            return null;
         }
 
-        return matched;
+        Segment[] segments = new Segment[patternTokens.length];
+        for (int i = 0; i < patternTokens.length; i++) {
+            segments[i] = compileSegment(patternTokens[i], versionRanges);
+        }
+        return new CompiledPattern(segments);
     }
 
     /**
-     * Gets whether the specified token matches the specified pattern segment.
+     * Compiles the specified pattern segment.
      *
-     * @param token
-     *            the token to check
      * @param pattern
-     *            the pattern segment to match, as defined above
-     * @return <code>true</code> if the specified token is matched by the specified pattern segment
+     *            the pattern segment to compile, as defined above
+     * @param versionRanges
+     *            the version ranges parsed so far, by pattern segment
+     * @return the segment matcher
      */
-    private boolean matches(String token, String pattern) {
-        boolean matches;
-
+    private static Segment compileSegment(String pattern, Map<String, VersionRangeMatcher> versionRanges) {
         // support full wildcard and implied wildcard
         if ("*".equals(pattern) || pattern.isEmpty()) {
-            matches = true;
+            return AnySegment.INSTANCE;
         }
         // support contains wildcard
         else if (pattern.startsWith("*") && pattern.endsWith("*")) {
-            String contains = pattern.substring(1, pattern.length() - 1);
-
-            matches = token.contains(contains);
+            return new ContainsSegment(pattern.substring(1, pattern.length() - 1));
         }
         // support leading wildcard
         else if (pattern.startsWith("*")) {
-            matches = token.endsWith(pattern.substring(1));
+            return new SuffixSegment(pattern.substring(1));
         }
         // support trailing wildcard
         else if (pattern.endsWith("*")) {
-            String prefix = pattern.substring(0, pattern.length() - 1);
-
-            matches = token.startsWith(prefix);
+            return new PrefixSegment(pattern.substring(0, pattern.length() - 1));
         }
         // support versions range
         else if (pattern.startsWith("[") || pattern.startsWith("(")) {
-            matches = isVersionIncludedInRange(token, pattern);
+            if (!versionRanges.containsKey(pattern)) {
+                versionRanges.put(pattern, parseVersionRange(pattern));
+            }
+            return new RangeSegment(versionRanges.get(pattern));
         }
         // support exact match
         else {
-            matches = token.equals(pattern);
+            return new ExactSegment(pattern);
         }
-
-        return matches;
     }
 
-    private boolean isVersionIncludedInRange(final String version, final String range) {
+    private static VersionRangeMatcher parseVersionRange(final String range) {
         try {
-            return VersionRange.createFromVersionSpec(range).containsVersion(new DefaultArtifactVersion(version));
+            return new VersionRangeMatcher(VersionRange.createFromVersionSpec(range));
         } catch (InvalidVersionSpecificationException e) {
-            return false;
+            return null;
+        }
+    }
+
+    // private classes --------------------------------------------------------
+
+    /**
+     * A pattern compiled to one matcher per segment, in coordinate order: groupId, artifactId, type, version.
+     */
+    private static final class CompiledPattern {
+        private final Segment[] segments;
+
+        private CompiledPattern(Segment[] segments) {
+            this.segments = segments;
+        }
+
+        private boolean matches(String groupId, String artifactId, String type, String baseVersion) {
+            // in coordinate order, stopping at the first mismatch
+            return (segments.length < 1 || segments[0].matches(groupId))
+                    && (segments.length < 2 || segments[1].matches(artifactId))
+                    && (segments.length < 3 || segments[2].matches(type))
+                    && (segments.length < 4 || segments[3].matches(baseVersion));
+        }
+    }
+
+    /**
+     * Matcher of a single pattern segment.
+     */
+    private abstract static class Segment {
+        abstract boolean matches(String token);
+    }
+
+    private static final class AnySegment extends Segment {
+        private static final AnySegment INSTANCE = new AnySegment();
+
+        @Override
+        boolean matches(String token) {
+            return true;
+        }
+    }
+
+    private static final class ExactSegment extends Segment {
+        private final String value;
+
+        private ExactSegment(String value) {
+            this.value = value;
+        }
+
+        @Override
+        boolean matches(String token) {
+            return value.equals(token);
+        }
+    }
+
+    private static final class PrefixSegment extends Segment {
+        private final String prefix;
+
+        private PrefixSegment(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        boolean matches(String token) {
+            return token.startsWith(prefix);
+        }
+    }
+
+    private static final class SuffixSegment extends Segment {
+        private final String suffix;
+
+        private SuffixSegment(String suffix) {
+            this.suffix = suffix;
+        }
+
+        @Override
+        boolean matches(String token) {
+            return token.endsWith(suffix);
+        }
+    }
+
+    private static final class ContainsSegment extends Segment {
+        private final String infix;
+
+        private ContainsSegment(String infix) {
+            this.infix = infix;
+        }
+
+        @Override
+        boolean matches(String token) {
+            return token.contains(infix);
+        }
+    }
+
+    private static final class RangeSegment extends Segment {
+        /**
+         * The range, <code>null</code> if the range is invalid and never matches.
+         */
+        private final VersionRangeMatcher range;
+
+        private RangeSegment(VersionRangeMatcher range) {
+            this.range = range;
+        }
+
+        @Override
+        boolean matches(String token) {
+            return range != null && range.containsVersion(token);
         }
     }
 }
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter;
+
+import java.util.BitSet;
+import java.util.List;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+
+/**
+ * {@link ArtifactFilter} able to evaluate a whole list of artifacts in one call. Implementations may hoist work out of
+ * the per-artifact loop, like extracting coordinates or looking up the patterns applying to a groupId, while giving the
+ * same results, and recording the same statistics, as calling {@link #include(Artifact)} for each artifact in order.
+ *
+ * @since 3.4.1
+ */
+public interface BatchArtifactFilter extends ArtifactFilter {
+    /**
+     * Evaluates this filter for each artifact of the list: bit {@code i} of {@code out} is set if the artifact at index
+     * {@code i} is included and cleared otherwise. Bits beyond the size of the list are left untouched.
+     *
+     * @param artifacts the artifacts to evaluate, must not be {@code null}
+     * @param out the bit set receiving the results, must not be {@code null}
+     */
+    default void includeAll(List<Artifact> artifacts, BitSet out) {
+        for (int i = 0; i < artifacts.size(); i++) {
+            out.set(i, include(artifacts.get(i)));
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counters behind a {@link FilterStatistics} snapshot, striped so that concurrent filtering threads do not
+ * contend. Criteria are counted by ordinal, the time spent is only measured when timing is enabled.
+ */
+final class FilterCounters {
+    /**
+     * Start time of an evaluation that is not timed.
+     */
+    static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private final LongAdder evaluations = new LongAdder();
+
+    private final LongAdder rejections = new LongAdder();
+
+    private final LongAdder nanos = new LongAdder();
+
+    private final LongAdder[] criteria;
+
+    private volatile boolean timed;
+
+    /**
+     * Creates zeroed counters.
+     *
+     * @param criteria the number of criteria
+     */
+    FilterCounters(int criteria) {
+        this.criteria = new LongAdder[criteria];
+        for (int i = 0; i < criteria; i++) {
+            this.criteria[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Enables or disables the measure of the time spent evaluating artifacts.
+     *
+     * @param timed whether evaluations are timed
+     */
+    void setTimed(boolean timed) {
+        this.timed = timed;
+    }
+
+    /**
+     * Tells whether evaluations are timed.
+     *
+     * @return whether evaluations are timed
+     */
+    boolean isTimed() {
+        return timed;
+    }
+
+    /**
+     * Starts an evaluation.
+     *
+     * @return the start time to pass to {@link #stop(long)}, {@link #NOT_TIMED} if timing is disabled
+     */
+    long start() {
+        return timed ? System.nanoTime() : NOT_TIMED;
+    }
+
+    /**
+     * Ends an evaluation, adding the time spent since it started if it was timed.
+     *
+     * @param start the value returned by {@link #start()}
+     */
+    void stop(long start) {
+        if (start != NOT_TIMED) {
+            nanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Counts evaluated artifacts.
+     *
+     * @param count the number of artifacts
+     */
+    void evaluated(int count) {
+        evaluations.add(count);
+    }
+
+    /**
+     * Counts a rejected artifact.
+     */
+    void rejected() {
+        rejections.increment();
+    }
+
+    /**
+     * Counts a match of a criterion.
+     *
+     * @param criterion the ordinal of the criterion
+     */
+    void hit(int criterion) {
+        criteria[criterion].increment();
+    }
+
+    /**
+     * Counts matches of a criterion.
+     *
+     * @param criterion the ordinal of the criterion
+     * @param count the number of matches
+     */
+    void hit(int criterion, long count) {
+        criteria[criterion].add(count);
+    }
+
+    /**
+     * Returns the number of matches of the criterion.
+     *
+     * @param criterion the ordinal of the criterion
+     * @return the number of matches of the criterion
+     */
+    long getHits(int criterion) {
+        return criteria[criterion].sum();
+    }
+
+    /**
+     * Takes a snapshot of the counters. Criteria with the same name are reported once, with the sum of their hits.
+     *
+     * @param names the names of the criteria, by ordinal, a {@code null} name is not reported
+     * @return the snapshot
+     */
+    FilterStatistics snapshot(String[] names) {
+        return snapshot(names, 0, 0);
+    }
+
+    /**
+     * Takes a snapshot of the counters along with the counts of a decision cache. Criteria with the same name are
+     * reported once, with the sum of their hits.
+     *
+     * @param names the names of the criteria, by ordinal, a {@code null} name is not reported
+     * @param cacheHits the number of decision cache hits
+     * @param cacheMisses the number of decision cache misses
+     * @return the snapshot
+     */
+    FilterStatistics snapshot(String[] names, long cacheHits, long cacheMisses) {
+        return snapshot(names, cacheHits, cacheMisses, null);
+    }
+
+    /**
+     * Takes a snapshot of the counters along with the counts of a decision cache and of version range matchers.
+     * Criteria with the same name are reported once, with the sum of their hits.
+     *
+     * @param names the names of the criteria, by ordinal, a {@code null} name is not reported
+     * @param cacheHits the number of decision cache hits
+     * @param cacheMisses the number of decision cache misses
+     * @param versionRanges the version range matchers of the criteria, may be {@code null}
+     * @return the snapshot
+     */
+    FilterStatistics snapshot(String[] names, long cacheHits, long cacheMisses, VersionRangeMatcher[] versionRanges) {
+        long versionCacheHits = 0;
+        long versionCacheMisses = 0;
+        if (versionRanges != null) {
+            for (VersionRangeMatcher versionRange : versionRanges) {
+                versionCacheHits += versionRange.getHitCount();
+                versionCacheMisses += versionRange.getMissCount();
+            }
+        }
+        Map<String, Long> hits = new LinkedHashMap<>();
+        for (int i = 0; i < criteria.length; i++) {
+            if (names[i] != null) {
+                hits.merge(names[i], criteria[i].sum(), Long::sum);
+            }
+        }
+        return new FilterStatistics(
+                evaluations.sum(),
+                rejections.sum(),
+                nanos.sum(),
+                hits,
+                cacheHits,
+                cacheMisses,
+                versionCacheHits,
+                versionCacheMisses);
+    }
+
+    /**
+     * Zeroes the counters.
+     */
+    void reset() {
+        evaluations.reset();
+        rejections.reset();
+        nanos.reset();
+        for (LongAdder criterion : criteria) {
+            criterion.reset();
+        }
+    }
+}
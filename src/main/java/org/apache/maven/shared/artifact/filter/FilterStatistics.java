@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Snapshot of the statistics of a {@link StatisticsReportingArtifactFilter}: how many artifacts it evaluated and
+ * rejected, the time spent evaluating them, and how many times each of its criteria, patterns or scopes, matched.
+ * Filters memoizing their decisions also report how many lookups their cache answered, and filters with version range
+ * patterns how many versions were answered without being parsed again.
+ *
+ * @since 3.4.1
+ */
+public final class FilterStatistics {
+    private static final FilterStatistics EMPTY = new FilterStatistics(0, 0, 0, Collections.emptyMap());
+
+    private final long evaluations;
+
+    private final long rejections;
+
+    private final long includeNanos;
+
+    private final Map<String, Long> criterionHits;
+
+    private final long cacheHits;
+
+    private final long cacheMisses;
+
+    private final long versionCacheHits;
+
+    private final long versionCacheMisses;
+
+    /**
+     * Creates a snapshot of a filter without decision cache.
+     *
+     * @param evaluations the number of artifacts evaluated
+     * @param rejections the number of artifacts rejected
+     * @param includeNanos the nanoseconds spent evaluating artifacts, {@code 0} if not measured
+     * @param criterionHits the number of matches of each criterion, in report order
+     */
+    public FilterStatistics(long evaluations, long rejections, long includeNanos, Map<String, Long> criterionHits) {
+        this(evaluations, rejections, includeNanos, criterionHits, 0, 0);
+    }
+
+    /**
+     * Creates a snapshot.
+     *
+     * @param evaluations the number of artifacts evaluated
+     * @param rejections the number of artifacts rejected
+     * @param includeNanos the nanoseconds spent evaluating artifacts, {@code 0} if not measured
+     * @param criterionHits the number of matches of each criterion, in report order
+     * @param cacheHits the number of decision cache lookups that found a decision
+     * @param cacheMisses the number of decision cache lookups that did not
+     */
+    public FilterStatistics(
+            long evaluations,
+            long rejections,
+            long includeNanos,
+            Map<String, Long> criterionHits,
+            long cacheHits,
+            long cacheMisses) {
+        this(evaluations, rejections, includeNanos, criterionHits, cacheHits, cacheMisses, 0, 0);
+    }
+
+    /**
+     * Creates a snapshot including the counts of the version range caches.
+     *
+     * @param evaluations the number of artifacts evaluated
+     * @param rejections the number of artifacts rejected
+     * @param includeNanos the nanoseconds spent evaluating artifacts, {@code 0} if not measured
+     * @param criterionHits the number of matches of each criterion, in report order
+     * @param cacheHits the number of decision cache lookups that found a decision
+     * @param cacheMisses the number of decision cache lookups that did not
+     * @param versionCacheHits the number of versions checked against a version range without being parsed
+     * @param versionCacheMisses the number of versions parsed to be checked against a version range
+     */
+    public FilterStatistics(
+            long evaluations,
+            long rejections,
+            long includeNanos,
+            Map<String, Long> criterionHits,
+            long cacheHits,
+            long cacheMisses,
+            long versionCacheHits,
+            long versionCacheMisses) {
+        this.evaluations = evaluations;
+        this.rejections = rejections;
+        this.includeNanos = includeNanos;
+        this.criterionHits =
+                Collections.unmodifiableMap(new LinkedHashMap<>(requireNonNull(criterionHits, "criterionHits")));
+        this.cacheHits = cacheHits;
+        this.cacheMisses = cacheMisses;
+        this.versionCacheHits = versionCacheHits;
+        this.versionCacheMisses = versionCacheMisses;
+    }
+
+    /**
+     * Returns the statistics of a filter that does not collect any.
+     *
+     * @return an empty snapshot
+     */
+    public static FilterStatistics empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns the number of artifacts evaluated.
+     *
+     * @return the number of artifacts evaluated
+     */
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    /**
+     * Returns the number of artifacts rejected.
+     *
+     * @return the number of artifacts rejected
+     */
+    public long getRejections() {
+        return rejections;
+    }
+
+    /**
+     * Returns the nanoseconds spent evaluating artifacts, {@code 0} if not measured.
+     *
+     * @return the nanoseconds spent evaluating artifacts, {@code 0} if not measured
+     */
+    public long getIncludeNanos() {
+        return includeNanos;
+    }
+
+    /**
+     * Returns the number of matches of each criterion, in report order.
+     *
+     * @return the number of matches of each criterion, in report order
+     */
+    public Map<String, Long> getCriterionHits() {
+        return criterionHits;
+    }
+
+    /**
+     * Returns the number of decision cache lookups that found a decision, {@code 0} without decision cache.
+     *
+     * @return the number of decision cache hits
+     */
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    /**
+     * Returns the number of decision cache lookups that did not find a decision, {@code 0} without decision cache.
+     *
+     * @return the number of decision cache misses
+     */
+    public long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    /**
+     * Returns the ratio of decision cache lookups that found a decision.
+     *
+     * @return the decision cache hit ratio, between {@code 0} and {@code 1}, {@code 0} if nothing was looked up
+     */
+    public double getCacheHitRatio() {
+        long lookups = cacheHits + cacheMisses;
+        return lookups == 0 ? 0 : (double) cacheHits / lookups;
+    }
+
+    /**
+     * Returns the number of versions checked against a version range pattern without being parsed, the outcome being
+     * cached, {@code 0} without version range pattern.
+     *
+     * @return the number of version range cache hits
+     */
+    public long getVersionCacheHits() {
+        return versionCacheHits;
+    }
+
+    /**
+     * Returns the number of versions parsed to be checked against a version range pattern, {@code 0} without version
+     * range pattern.
+     *
+     * @return the number of version range cache misses
+     */
+    public long getVersionCacheMisses() {
+        return versionCacheMisses;
+    }
+
+    /**
+     * Returns the ratio of versions checked against a version range pattern without being parsed.
+     *
+     * @return the version range cache hit ratio, between {@code 0} and {@code 1}, {@code 0} if no version was checked
+     */
+    public double getVersionCacheHitRatio() {
+        long lookups = versionCacheHits + versionCacheMisses;
+        return lookups == 0 ? 0 : (double) versionCacheHits / lookups;
+    }
+
+    /**
+     * Formats the statistics as a JSON object. The counts of a cache are only included if the cache was looked up.
+     *
+     * @return the JSON text
+     */
+    public String toJson() {
+        StringBuilder buffer = new StringBuilder();
+        buffer.append("{\"evaluations\":").append(evaluations);
+        buffer.append(",\"rejections\":").append(rejections);
+        buffer.append(",\"includeNanos\":").append(includeNanos);
+        if (hasCacheLookups()) {
+            buffer.append(",\"cacheHits\":").append(cacheHits);
+            buffer.append(",\"cacheMisses\":").append(cacheMisses);
+        }
+        if (hasVersionCacheLookups()) {
+            buffer.append(",\"versionCacheHits\":").append(versionCacheHits);
+            buffer.append(",\"versionCacheMisses\":").append(versionCacheMisses);
+        }
+        buffer.append(",\"criterionHits\":{");
+        String separator = "";
+        for (Map.Entry<String, Long> entry : criterionHits.entrySet()) {
+            buffer.append(separator);
+            appendJsonString(buffer, entry.getKey());
+            buffer.append(':').append(entry.getValue());
+            separator = ",";
+        }
+        buffer.append("}}");
+        return buffer.toString();
+    }
+
+    /**
+     * Formats the statistics in the Prometheus text exposition format, as counters labelled with the filter name. The
+     * counters of a cache are only included if the cache was looked up.
+     *
+     * @param filter the value of the {@code filter} label
+     * @return the exposition text, one sample per line
+     */
+    public String toPrometheusText(String filter) {
+        String label = "filter=\"" + escapeLabel(filter) + "\"";
+        StringBuilder buffer = new StringBuilder();
+        appendCounter(buffer, "artifact_filter_evaluations_total", label, evaluations);
+        appendCounter(buffer, "artifact_filter_rejections_total", label, rejections);
+        appendCounter(buffer, "artifact_filter_include_nanoseconds_total", label, includeNanos);
+        if (hasCacheLookups()) {
+            appendCounter(buffer, "artifact_filter_cache_hits_total", label, cacheHits);
+            appendCounter(buffer, "artifact_filter_cache_misses_total", label, cacheMisses);
+        }
+        if (hasVersionCacheLookups()) {
+            appendCounter(buffer, "artifact_filter_version_cache_hits_total", label, versionCacheHits);
+            appendCounter(buffer, "artifact_filter_version_cache_misses_total", label, versionCacheMisses);
+        }
+        buffer.append("# TYPE artifact_filter_criterion_hits_total counter\n");
+        for (Map.Entry<String, Long> entry : criterionHits.entrySet()) {
+            buffer.append("artifact_filter_criterion_hits_total{")
+                    .append(label)
+                    .append(",criterion=\"")
+                    .append(escapeLabel(entry.getKey()))
+                    .append("\"} ")
+                    .append(entry.getValue())
+                    .append('\n');
+        }
+        return buffer.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+
+    private boolean hasCacheLookups() {
+        return cacheHits + cacheMisses > 0;
+    }
+
+    private boolean hasVersionCacheLookups() {
+        return versionCacheHits + versionCacheMisses > 0;
+    }
+
+    private static void appendCounter(StringBuilder buffer, String name, String label, long value) {
+        buffer.append("# TYPE ").append(name).append(" counter\n");
+        buffer.append(name).append('{').append(label).append("} ").append(value).append('\n');
+    }
+
+    private static void appendJsonString(StringBuilder buffer, String value) {
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    buffer.append("\\\"");
+                    break;
+                case '\\':
+                    buffer.append("\\\\");
+                    break;
+                case '\n':
+                    buffer.append("\\n");
+                    break;
+                case '\r':
+                    buffer.append("\\r");
+                    break;
+                case '\t':
+                    buffer.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        buffer.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        buffer.append(c);
+                    }
+            }
+        }
+        buffer.append('"');
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.apache.maven.artifact.Artifact;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The artifacts removed by a filter, kept for reporting as its {@link ReportingPolicy} says. Safe for use by
+ * concurrent threads.
+ */
+final class FilteredArtifacts {
+    private final ReportingPolicy policy;
+
+    private final LongAdder count = new LongAdder();
+
+    private final Queue<Artifact> sample = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Number of artifacts admitted to the sample, only maintained when the sample is bounded.
+     */
+    private final AtomicInteger sampled = new AtomicInteger();
+
+    /**
+     * Creates an empty record.
+     *
+     * @param policy the reporting policy
+     */
+    FilteredArtifacts(ReportingPolicy policy) {
+        this.policy = requireNonNull(policy, "policy");
+    }
+
+    /**
+     * Returns the reporting policy.
+     *
+     * @return the policy
+     */
+    ReportingPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Records a filtered artifact.
+     *
+     * @param artifact the artifact
+     */
+    void add(Artifact artifact) {
+        if (!policy.isCounting()) {
+            return;
+        }
+        count.increment();
+
+        int sampleSize = policy.getSampleSize();
+        if (sampleSize == Integer.MAX_VALUE) {
+            sample.add(artifact);
+        } else if (sampled.get() < sampleSize && sampled.incrementAndGet() <= sampleSize) {
+            sample.add(artifact);
+        }
+    }
+
+    /**
+     * Tells whether no artifact was recorded.
+     *
+     * @return {@code true} if there is nothing to report
+     */
+    boolean isEmpty() {
+        return count.sum() == 0;
+    }
+
+    /**
+     * Returns the number of artifacts recorded.
+     *
+     * @return the number of filtered artifacts, {@code 0} if they are not counted
+     */
+    long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Appends the kept artifacts, each preceded by the separator, then the number of the artifacts not kept if any.
+     *
+     * @param buffer the buffer to append to
+     * @param separator the separator preceding each line
+     * @param formatter the formatter of the kept artifacts
+     */
+    void appendTo(StringBuilder buffer, String separator, Function<Artifact, String> formatter) {
+        long listed = 0;
+        for (Artifact artifact : sample) {
+            buffer.append(separator).append(formatter.apply(artifact));
+            listed++;
+        }
+
+        long unlisted = count.sum() - listed;
+        if (unlisted > 0) {
+            buffer.append(separator).append("... ").append(unlisted).append(listed > 0 ? " more" : " artifacts");
+        }
+    }
+
+    /**
+     * Forgets the recorded artifacts.
+     */
+    void clear() {
+        sample.clear();
+        sampled.set(0);
+        count.reset();
+    }
+}
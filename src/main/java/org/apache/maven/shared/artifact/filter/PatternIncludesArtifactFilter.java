@@ -20,19 +20,23 @@ package org.apache.maven.shared.artifact.filter;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import org.apache.maven.artifact.Artifact;
-import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
-import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
 import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.shared.artifact.filter.internal.BoundedCache;
+import org.apache.maven.shared.artifact.filter.internal.DependencyTrailItem;
 import org.slf4j.Logger;
 
 import static java.util.Objects.requireNonNull;
@@ -43,28 +47,75 @@ import static java.util.Objects.requireNonNull;
  * @author <a href="mailto:brett@apache.org">Brett Porter</a>
  * @see StrictPatternIncludesArtifactFilter
  */
-public class PatternIncludesArtifactFilter implements ArtifactFilter, StatisticsReportingArtifactFilter {
+public class PatternIncludesArtifactFilter implements BatchArtifactFilter, StatisticsReportingArtifactFilter {
     private static final String SEP = System.lineSeparator();
 
+    private static final int TRAIL_CACHE_SIZE = 4096;
+
+    private static final int REORDER_INTERVAL = 1024;
+
     /**
      * Holds the set of compiled patterns
      */
     private final Set<Pattern> patterns;
 
+    /**
+     * The compiled patterns, indexed by pattern ordinal
+     */
+    private final Pattern[] declaredPatterns;
+
+    /**
+     * Index over the compiled patterns, used to select candidate patterns for an artifact
+     */
+    private volatile PatternIndex index;
+
+    /**
+     * Whether the patterns are periodically reordered by number of matches
+     */
+    private volatile boolean adaptive;
+
+    /**
+     * Number of evaluations left until the patterns are next reordered, only used when adaptive
+     */
+    private final AtomicInteger evaluationsUntilReorder = new AtomicInteger(REORDER_INTERVAL);
+
     /**
      * Whether the dependency trail should be checked
      */
     private final boolean actTransitively;
 
     /**
-     * Set of patterns that have been triggered
+     * Parsed elements of dependency trails, only used when acting transitively
+     */
+    private final BoundedCache<String, Artifactoid> trailCache;
+
+    /**
+     * Memoized decisions, the declaration ordinal of the first matching pattern or {@code -1}, keyed by
+     * {@link DecisionKey} for artifacts and by string for dependency trail elements. {@code null} unless enabled
+     */
+    private volatile BoundedCache<Object, Integer> decisions;
+
+    /**
+     * Statistics, with the number of times each pattern has been triggered, indexed by pattern ordinal
+     */
+    private final FilterCounters patternsTriggered;
+
+    /**
+     * The version range matchers of the patterns, whose cache counts are reported in the statistics.
+     */
+    private final VersionRangeMatcher[] versionRanges;
+
+    /**
+     * Artifacts that have been filtered out, kept as the reporting policy says
      */
-    private final Set<Pattern> patternsTriggered = new HashSet<>();
+    private volatile FilteredArtifacts filteredArtifacts = new FilteredArtifacts(ReportingPolicy.FULL);
 
     /**
-     * Set of artifacts that have been filtered out
+     * Whether {@link #includeAll(List, BitSet)} may bypass {@link #include(Artifact)}, which is only the case when
+     * neither {@link #include(Artifact)} nor {@link #patternMatches(Artifact)} may have been overridden
      */
-    private final List<Artifact> filteredArtifact = new ArrayList<>();
+    private final boolean batchable =
+            getClass() == PatternIncludesArtifactFilter.class || getClass() == PatternExcludesArtifactFilter.class;
 
     /**
      * <p>Constructor for PatternIncludesArtifactFilter.</p>
@@ -78,11 +129,15 @@ public class PatternIncludesArtifactFilter implements ArtifactFilter, Statistics
     /**
      * <p>Constructor for PatternIncludesArtifactFilter.</p>
      *
+     * The filter is safe for use by concurrent threads: the triggered patterns and filtered artifacts are tracked in
+     * lock-free structures, and reports reflect all {@link #include(Artifact)} calls that completed before them.
+     *
      * @param patterns        The pattern to be used.
      * @param actTransitively transitive yes/no.
      */
     public PatternIncludesArtifactFilter(final Collection<String> patterns, final boolean actTransitively) {
         this.actTransitively = actTransitively;
+        this.trailCache = actTransitively ? new BoundedCache<>(TRAIL_CACHE_SIZE) : null;
         final Set<Pattern> pat = new LinkedHashSet<>();
         if (patterns != null && !patterns.isEmpty()) {
             for (String pattern : patterns) {
@@ -91,6 +146,18 @@ public class PatternIncludesArtifactFilter implements ArtifactFilter, Statistics
             }
         }
         this.patterns = pat;
+        this.declaredPatterns = pat.toArray(new Pattern[0]);
+        final int[] order = new int[declaredPatterns.length];
+        for (int ordinal = 0; ordinal < order.length; ordinal++) {
+            order[ordinal] = ordinal;
+        }
+        this.index = new PatternIndex(declaredPatterns, order);
+        this.patternsTriggered = new FilterCounters(declaredPatterns.length);
+        final List<VersionRangeMatcher> ranges = new ArrayList<>();
+        for (Pattern p : declaredPatterns) {
+            p.collectVersionRanges(ranges);
+        }
+        this.versionRanges = ranges.toArray(new VersionRangeMatcher[0]);
     }
 
     @Override
@@ -104,55 +171,327 @@ public class PatternIncludesArtifactFilter implements ArtifactFilter, Statistics
         return shouldInclude;
     }
 
-    protected boolean patternMatches(final Artifact artifact) {
-        Boolean match = match(adapt(artifact));
-        if (match != null) {
-            return match;
+    /**
+     * Evaluates the artifacts in order, as {@link #include(Artifact)} does. The coordinates of each artifact are read
+     * at most once, and the patterns applying to a groupId are looked up once per batch.
+     *
+     * @param artifacts the artifacts to evaluate
+     * @param out the bit set receiving the results
+     */
+    @Override
+    public void includeAll(final List<Artifact> artifacts, final BitSet out) {
+        if (!batchable) {
+            BatchArtifactFilter.super.includeAll(artifacts, out);
+            return;
         }
 
-        if (actTransitively) {
-            final List<String> depTrail = artifact.getDependencyTrail();
+        final long start = patternsTriggered.start();
+        final boolean includeOnMatch = !(this instanceof PatternExcludesArtifactFilter);
+        final PatternIndex index = this.index;
+        final BoundedCache<Object, Integer> decisions = this.decisions;
+        final Map<String, int[]> groupIdOrdinals = new HashMap<>();
+        final Function<Object, Integer> matcher = key -> index.match((DecisionKey) key, groupIdOrdinals);
+        final ArtifactCoordinates coordinates = new ArtifactCoordinates();
+        for (int i = 0; i < artifacts.size(); i++) {
+            final Artifact artifact = artifacts.get(i);
+            coordinates.reset(artifact);
+
+            final int ordinal = decisions == null
+                    ? index.match(coordinates, groupIdOrdinals)
+                    : decisions.get(new DecisionKey(coordinates), matcher);
+            Boolean match = triggered(ordinal);
+            if (match == null && actTransitively) {
+                match = matchTrail(artifact);
+            }
 
-            if (depTrail != null && depTrail.size() > 1) {
-                for (String trailItem : depTrail) {
-                    Artifactoid artifactoid = adapt(trailItem);
-                    match = match(artifactoid);
-                    if (match != null) {
-                        return match;
-                    }
+            final boolean shouldInclude = (match != null && match) == includeOnMatch;
+            if (!shouldInclude) {
+                addFilteredArtifact(artifact);
+            }
+            out.set(i, shouldInclude);
+        }
+        patternsTriggered.evaluated(artifacts.size());
+        patternsTriggered.stop(start);
+        evaluated(artifacts.size());
+    }
+
+    protected boolean patternMatches(final Artifact artifact) {
+        final long start = patternsTriggered.start();
+        patternsTriggered.evaluated(1);
+        try {
+            Boolean match = triggered(decide(artifact));
+            if (match != null) {
+                return match;
+            }
+
+            if (actTransitively) {
+                match = matchTrail(artifact);
+                if (match != null) {
+                    return match;
                 }
             }
+
+            return false;
+        } finally {
+            patternsTriggered.stop(start);
+            evaluated(1);
         }
+    }
 
-        return false;
+    /**
+     * Returns whether the patterns match the artifact of the given coordinates, as {@link #patternMatches(Artifact)}
+     * does for an artifact without dependency trail. This lets artifact models other than {@link Artifact} be matched
+     * with their coordinates as they are read. The deciding pattern is counted as triggered, but there is no artifact
+     * to track as filtered.
+     *
+     * @param groupId the groupId
+     * @param artifactId the artifactId
+     * @param type the type
+     * @param classifier the classifier, {@code null} or empty if none
+     * @param baseVersion the base version
+     * @return {@code true} if a pattern including the artifact decides, {@code false} otherwise
+     * @since 3.4.1
+     */
+    public boolean patternMatches(
+            final String groupId,
+            final String artifactId,
+            final String type,
+            final String classifier,
+            final String baseVersion) {
+        final long start = patternsTriggered.start();
+        patternsTriggered.evaluated(1);
+        try {
+            final String classifierOrNull = classifier == null || classifier.isEmpty() ? null : classifier;
+            final DecisionKey key = new DecisionKey(groupId, artifactId, type, classifierOrNull, baseVersion);
+            final BoundedCache<Object, Integer> decisions = this.decisions;
+            final int ordinal = decisions == null
+                    ? index.match(key)
+                    : decisions.get(key, k -> index.match((DecisionKey) k));
+            final Boolean match = triggered(ordinal);
+            return match != null && match;
+        } finally {
+            patternsTriggered.stop(start);
+            evaluated(1);
+        }
     }
 
-    private Boolean match(Artifactoid artifactoid) {
-        for (Pattern pattern : patterns) {
-            if (pattern.matches(artifactoid)) {
-                patternsTriggered.add(pattern);
-                return !(pattern instanceof NegativePattern);
+    /**
+     * Enables or disables the adaptive ordering of the patterns, which is disabled by default. When enabled, the
+     * patterns are periodically reordered so that those matching most often are evaluated first, among runs of
+     * patterns of the same polarity: the outcome of the filter is unchanged, but when several patterns of a run match
+     * an artifact, the one reported as triggered may be another one than without reordering.
+     *
+     * @param adaptive whether to reorder the patterns
+     * @since 3.4.1
+     */
+    public void setAdaptive(final boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * Enables or disables the memoization of decisions, which is disabled by default. When enabled, the pattern
+     * deciding for given coordinates (groupId, artifactId, type, classifier and base version) is kept in a bounded
+     * cache, evicting the decisions that were not used recently first. Artifacts and the elements of their dependency
+     * trail are cached separately, so the decision for a trail is composed of the cached decisions of its elements.
+     * Patterns are reported as triggered on cache hits as well, and the cache hit ratio is part of the
+     * {@link #getStatistics() statistics}. Setting the size discards the cached decisions.
+     *
+     * @param maxSize the maximum number of cached decisions, {@code 0} to disable the cache
+     * @since 3.4.1
+     */
+    public void setDecisionCacheSize(final int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must not be negative: " + maxSize);
+        }
+        decisions = maxSize > 0 ? new BoundedCache<>(maxSize) : null;
+    }
+
+    private void evaluated(final int count) {
+        if (adaptive && evaluationsUntilReorder.addAndGet(-count) <= 0) {
+            evaluationsUntilReorder.set(REORDER_INTERVAL);
+            reorder();
+        }
+    }
+
+    /**
+     * Sorts each run of patterns of the same polarity by decreasing number of matches, and switches to an index
+     * evaluating them in that order if it changed.
+     */
+    private synchronized void reorder() {
+        final Integer[] order = new Integer[declaredPatterns.length];
+        for (int position = 0; position < order.length; position++) {
+            order[position] = position;
+        }
+        final long[] hits = new long[declaredPatterns.length];
+        for (int ordinal = 0; ordinal < hits.length; ordinal++) {
+            hits[ordinal] = patternsTriggered.getHits(ordinal);
+        }
+
+        int runStart = 0;
+        for (int position = 1; position <= order.length; position++) {
+            if (position == order.length
+                    || isNegative(declaredPatterns[position]) != isNegative(declaredPatterns[runStart])) {
+                // stable: patterns matching as often keep their declaration order
+                Arrays.sort(order, runStart, position, (a, b) -> Long.compare(hits[b], hits[a]));
+                runStart = position;
             }
         }
 
+        final PatternIndex current = index;
+        boolean changed = false;
+        final int[] ordinals = new int[order.length];
+        for (int position = 0; position < order.length; position++) {
+            ordinals[position] = order[position];
+            changed |= ordinals[position] != current.ordinals[position];
+        }
+        if (changed) {
+            index = new PatternIndex(declaredPatterns, ordinals);
+            final BoundedCache<Object, Integer> decisions = this.decisions;
+            if (decisions != null) {
+                decisions.clear();
+            }
+        }
+    }
+
+    private static boolean isNegative(final Pattern pattern) {
+        return pattern instanceof NegativePattern;
+    }
+
+    private Boolean matchTrail(final Artifact artifact) {
+        final List<String> depTrail = artifact.getDependencyTrail();
+
+        if (depTrail != null && depTrail.size() > 1) {
+            for (String trailItem : depTrail) {
+                Boolean match = triggered(decide(trailItem));
+                if (match != null) {
+                    return match;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the declaration ordinal of the pattern deciding for the artifact, or {@code -1} if none matches.
+     */
+    private int decide(final Artifact artifact) {
+        final BoundedCache<Object, Integer> decisions = this.decisions;
+        if (decisions == null) {
+            return index.match(adapt(artifact));
+        }
+        return decisions.get(new DecisionKey(adapt(artifact)), key -> index.match((DecisionKey) key));
+    }
+
+    /**
+     * Returns the declaration ordinal of the pattern deciding for the dependency trail element, or {@code -1} if none
+     * matches.
+     */
+    private int decide(final String trailItem) {
+        final BoundedCache<Object, Integer> decisions = this.decisions;
+        if (decisions == null) {
+            return index.match(parseTrailItem(trailItem));
+        }
+        return decisions.get(trailItem, key -> index.match(parseTrailItem((String) key)));
+    }
+
+    private Artifactoid parseTrailItem(final String trailItem) {
+        return trailCache.get(trailItem, PatternIncludesArtifactFilter::adapt);
+    }
+
+    private Boolean triggered(int ordinal) {
+        if (ordinal >= 0) {
+            markTriggered(ordinal);
+            return !isNegative(declaredPatterns[ordinal]);
+        }
+
         return null;
     }
 
+    private void markTriggered(int ordinal) {
+        patternsTriggered.hit(ordinal);
+    }
+
+    private boolean isTriggered(int ordinal) {
+        return patternsTriggered.getHits(ordinal) > 0;
+    }
+
+    private List<Pattern> getMissedPatterns() {
+        final List<Pattern> missed = new ArrayList<>();
+        for (int ordinal = 0; ordinal < declaredPatterns.length; ordinal++) {
+            if (!isTriggered(ordinal)) {
+                missed.add(declaredPatterns[ordinal]);
+            }
+        }
+        return missed;
+    }
+
     /**
      * <p>addFilteredArtifact.</p>
      *
      * @param artifact add artifact to the filtered artifacts list.
      */
     protected void addFilteredArtifact(final Artifact artifact) {
-        filteredArtifact.add(artifact);
+        patternsTriggered.rejected();
+        filteredArtifacts.add(artifact);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The criteria are the patterns, counted when they decide whether an artifact matches. The cache counts are those
+     * of the current decision cache, if enabled, and the version cache counts those of the version range patterns.
+     */
+    @Override
+    public FilterStatistics getStatistics() {
+        final String[] names = new String[declaredPatterns.length];
+        for (int ordinal = 0; ordinal < names.length; ordinal++) {
+            names[ordinal] = declaredPatterns[ordinal].toString();
+        }
+        final BoundedCache<Object, Integer> decisions = this.decisions;
+        if (decisions == null) {
+            return patternsTriggered.snapshot(names, 0, 0, versionRanges);
+        }
+        return patternsTriggered.snapshot(names, decisions.getHitCount(), decisions.getMissCount(), versionRanges);
+    }
+
+    /**
+     * Enables or disables the measure of the time spent matching artifacts, which is disabled by default.
+     *
+     * @param timed whether to measure the time spent filtering
+     * @since 3.4.1
+     */
+    public void setTimed(final boolean timed) {
+        patternsTriggered.setTimed(timed);
+    }
+
+    /**
+     * Sets which filtered artifacts are kept for {@link #reportFilteredArtifacts(Logger)}, forgetting those tracked so
+     * far. The default is {@link ReportingPolicy#FULL}, which keeps every filtered artifact for the lifetime of the
+     * filter.
+     *
+     * @param policy the reporting policy
+     * @since 3.4.1
+     */
+    public void setReportingPolicy(final ReportingPolicy policy) {
+        filteredArtifacts = new FilteredArtifacts(policy);
+    }
+
+    /**
+     * Returns which filtered artifacts are kept for {@link #reportFilteredArtifacts(Logger)}.
+     *
+     * @return the reporting policy
+     * @since 3.4.1
+     */
+    public ReportingPolicy getReportingPolicy() {
+        return filteredArtifacts.getPolicy();
     }
 
     @Override
     public void reportMissedCriteria(final Logger logger) {
         // if there are no patterns, there is nothing to report.
         if (!patterns.isEmpty()) {
-            final List<Pattern> missed = new ArrayList<>(patterns);
-            missed.removeAll(patternsTriggered);
+            final List<Pattern> missed = getMissedPatterns();
 
             if (!missed.isEmpty() && logger.isWarnEnabled()) {
                 final StringBuilder buffer = new StringBuilder();
@@ -192,13 +531,12 @@ public class PatternIncludesArtifactFilter implements ArtifactFilter, Statistics
 
     @Override
     public void reportFilteredArtifacts(final Logger logger) {
-        if (!filteredArtifact.isEmpty() && logger.isDebugEnabled()) {
+        final FilteredArtifacts filtered = filteredArtifacts;
+        if (!filtered.isEmpty() && logger.isDebugEnabled()) {
             final StringBuilder buffer =
                     new StringBuilder("The following artifacts were removed by this " + getFilterDescription() + ": ");
 
-            for (Artifact artifactId : filteredArtifact) {
-                buffer.append(SEP).append(artifactId.getId());
-            }
+            filtered.appendTo(buffer, SEP, Artifact::getId);
 
             logger.debug(buffer.toString());
         }
@@ -208,9 +546,11 @@ public class PatternIncludesArtifactFilter implements ArtifactFilter, Statistics
     public boolean hasMissedCriteria() {
         // if there are no patterns, there is nothing to report.
         if (!patterns.isEmpty()) {
-            final List<Pattern> missed = new ArrayList<>(patterns);
-            missed.removeAll(patternsTriggered);
-            return !missed.isEmpty();
+            for (int ordinal = 0; ordinal < declaredPatterns.length; ordinal++) {
+                if (!isTriggered(ordinal)) {
+                    return true;
+                }
+            }
         }
 
         return false;
@@ -230,23 +570,94 @@ public class PatternIncludesArtifactFilter implements ArtifactFilter, Statistics
 
     private static Artifactoid adapt(final Artifact artifact) {
         requireNonNull(artifact);
-        return coordinate -> {
-            requireNonNull(coordinate);
-            switch (coordinate) {
-                case GROUP_ID:
-                    return artifact.getGroupId();
-                case ARTIFACT_ID:
-                    return artifact.getArtifactId();
-                case BASE_VERSION:
-                    return artifact.getBaseVersion();
-                case CLASSIFIER:
-                    return artifact.hasClassifier() ? artifact.getClassifier() : null;
-                case TYPE:
-                    return artifact.getType();
-                default:
+        return coordinate -> getCoordinate(artifact, coordinate);
+    }
+
+    private static String getCoordinate(final Artifact artifact, final Coordinate coordinate) {
+        requireNonNull(coordinate);
+        switch (coordinate) {
+            case GROUP_ID:
+                return artifact.getGroupId();
+            case ARTIFACT_ID:
+                return artifact.getArtifactId();
+            case BASE_VERSION:
+                return artifact.getBaseVersion();
+            case CLASSIFIER:
+                return artifact.hasClassifier() ? artifact.getClassifier() : null;
+            case TYPE:
+                return artifact.getType();
+            default:
+        }
+        throw new IllegalArgumentException("unknown coordinate: " + coordinate);
+    }
+
+    /**
+     * Reusable view of the coordinates of an artifact, each coordinate is read from the artifact on first access only.
+     * Used by a single thread within a batch.
+     */
+    private static final class ArtifactCoordinates implements Artifactoid {
+        private final String[] coordinates = new String[Coordinate.values().length];
+
+        private final boolean[] extracted = new boolean[coordinates.length];
+
+        private Artifact artifact;
+
+        private void reset(Artifact artifact) {
+            this.artifact = requireNonNull(artifact);
+            Arrays.fill(extracted, false);
+        }
+
+        @Override
+        public String getCoordinate(Coordinate coordinate) {
+            int ordinal = coordinate.ordinal();
+            if (!extracted[ordinal]) {
+                coordinates[ordinal] = PatternIncludesArtifactFilter.getCoordinate(artifact, coordinate);
+                extracted[ordinal] = true;
             }
-            throw new IllegalArgumentException("unknown coordinate: " + coordinate);
-        };
+            return coordinates[ordinal];
+        }
+    }
+
+    /**
+     * The coordinates deciding which pattern matches an artifact, used as decision cache key. The key refers to the
+     * coordinate strings of the artifact, it does not build a string of its own.
+     */
+    private static final class DecisionKey implements Artifactoid {
+        private static final Coordinate[] COORDINATES = Coordinate.values();
+
+        private final String[] coordinates = new String[COORDINATES.length];
+
+        private final int hash;
+
+        private DecisionKey(Artifactoid artifactoid) {
+            for (Coordinate coordinate : COORDINATES) {
+                coordinates[coordinate.ordinal()] = artifactoid.getCoordinate(coordinate);
+            }
+            this.hash = Arrays.hashCode(coordinates);
+        }
+
+        /**
+         * @param coordinates the coordinates, in the order of {@link Coordinate}
+         */
+        private DecisionKey(String... coordinates) {
+            System.arraycopy(coordinates, 0, this.coordinates, 0, this.coordinates.length);
+            this.hash = Arrays.hashCode(coordinates);
+        }
+
+        @Override
+        public String getCoordinate(Coordinate coordinate) {
+            return coordinates[coordinate.ordinal()];
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof DecisionKey && Arrays.equals(coordinates, ((DecisionKey) obj).coordinates);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
     }
 
     /**
@@ -254,26 +665,38 @@ public class PatternIncludesArtifactFilter implements ArtifactFilter, Statistics
      * has classifier {@code G:A:T:C:V}, so strictly 4 or 5 segments only.
      */
     private static Artifactoid adapt(final String depTrailString) {
-        requireNonNull(depTrailString);
-        String[] coordinates = depTrailString.split(":");
-        if (coordinates.length != 4 && coordinates.length != 5) {
-            throw new IllegalArgumentException("Bad dep trail string: " + depTrailString);
-        }
-        final HashMap<Coordinate, String> map = new HashMap<>();
-        map.put(Coordinate.GROUP_ID, coordinates[0]);
-        map.put(Coordinate.ARTIFACT_ID, coordinates[1]);
-        map.put(Coordinate.TYPE, coordinates[2]);
-        if (coordinates.length == 5) {
-            map.put(Coordinate.CLASSIFIER, coordinates[3]);
-            map.put(Coordinate.BASE_VERSION, coordinates[4]);
-        } else {
-            map.put(Coordinate.BASE_VERSION, coordinates[3]);
+        return new TrailArtifactoid(DependencyTrailItem.parse(depTrailString));
+    }
+
+    /**
+     * View of a parsed dependency trail element, a cached element does not allocate anymore and cached elements
+     * share their coordinates.
+     */
+    private static final class TrailArtifactoid implements Artifactoid {
+        private final DependencyTrailItem trailItem;
+
+        private TrailArtifactoid(DependencyTrailItem trailItem) {
+            this.trailItem = trailItem;
         }
 
-        return coordinate -> {
+        @Override
+        public String getCoordinate(Coordinate coordinate) {
             requireNonNull(coordinate);
-            return map.get(coordinate);
-        };
+            switch (coordinate) {
+                case GROUP_ID:
+                    return trailItem.getGroupId();
+                case ARTIFACT_ID:
+                    return trailItem.getArtifactId();
+                case TYPE:
+                    return trailItem.getType();
+                case CLASSIFIER:
+                    return trailItem.getClassifier();
+                case BASE_VERSION:
+                    return trailItem.getVersion();
+                default:
+            }
+            throw new IllegalArgumentException("unknown coordinate: " + coordinate);
+        }
     }
 
     private static final String ANY = "*";
@@ -423,6 +846,11 @@ public class PatternIncludesArtifactFilter implements ArtifactFilter, Statistics
 
         public abstract boolean matches(Artifactoid artifact);
 
+        /**
+         * Adds the version range matchers of this pattern.
+         */
+        void collectVersionRanges(List<VersionRangeMatcher> ranges) {}
+
         @Override
         public String toString() {
             return pattern;
@@ -446,6 +874,13 @@ public class PatternIncludesArtifactFilter implements ArtifactFilter, Statistics
             }
             return true;
         }
+
+        @Override
+        void collectVersionRanges(List<VersionRangeMatcher> ranges) {
+            for (Pattern pattern : patterns) {
+                pattern.collectVersionRanges(ranges);
+            }
+        }
     }
 
     private static class CoordinateMatchingPattern extends Pattern {
@@ -455,21 +890,21 @@ public class PatternIncludesArtifactFilter implements ArtifactFilter, Statistics
 
         private final boolean containsWildcard;
 
-        private final boolean containsAsterisk;
+        private final TokenMatcher matcher;
 
-        private final VersionRange optionalVersionRange;
+        private final VersionRangeMatcher optionalVersionRange;
 
         private CoordinateMatchingPattern(String pattern, String token, EnumSet<Coordinate> coordinates) {
             super(pattern);
             this.token = token;
             this.coordinates = coordinates;
-            this.containsAsterisk = token.contains("*");
-            this.containsWildcard = this.containsAsterisk || token.contains("?");
+            this.containsWildcard = token.contains("*") || token.contains("?");
+            this.matcher = TokenMatcher.compile(token);
             if (!this.containsWildcard
                     && coordinates.equals(EnumSet.of(Coordinate.BASE_VERSION))
                     && (token.startsWith("[") || token.startsWith("("))) {
                 try {
-                    this.optionalVersionRange = VersionRange.createFromVersionSpec(token);
+                    this.optionalVersionRange = new VersionRangeMatcher(VersionRange.createFromVersionSpec(token));
                 } catch (InvalidVersionSpecificationException e) {
                     throw new IllegalArgumentException("Wrong version spec: " + token, e);
                 }
@@ -483,21 +918,22 @@ public class PatternIncludesArtifactFilter implements ArtifactFilter, Statistics
             for (Coordinate coordinate : coordinates) {
                 String value = artifactoid.getCoordinate(coordinate);
                 if (Coordinate.BASE_VERSION == coordinate && optionalVersionRange != null) {
-                    if (optionalVersionRange.containsVersion(new DefaultArtifactVersion(value))) {
-                        return true;
-                    }
-                } else if (containsWildcard) {
-                    if (match(token, containsAsterisk, value)) {
-                        return true;
-                    }
-                } else {
-                    if (token.equals(value)) {
+                    if (optionalVersionRange.containsVersion(value)) {
                         return true;
                     }
+                } else if (matcher.matches(value)) {
+                    return true;
                 }
             }
             return false;
         }
+
+        @Override
+        void collectVersionRanges(List<VersionRangeMatcher> ranges) {
+            if (optionalVersionRange != null) {
+                ranges.add(optionalVersionRange);
+            }
+        }
     }
 
     /**
@@ -529,124 +965,537 @@ public class PatternIncludesArtifactFilter implements ArtifactFilter, Statistics
         public boolean matches(Artifactoid artifactoid) {
             return inner.matches(artifactoid);
         }
+
+        @Override
+        void collectVersionRanges(List<VersionRangeMatcher> ranges) {
+            inner.collectVersionRanges(ranges);
+        }
     }
 
-    // this beauty below must be salvaged
+    /**
+     * Index of patterns, used to evaluate only those patterns that may match a given artifact. Patterns constraining
+     * the groupId or artifactId (directly, negated or as part of an {@link AndPattern}) are bucketed by exact value or,
+     * if the token contains wildcards, by the literal prefix before the first wildcard. All other patterns are always
+     * candidates. Every pattern keeps its ordinal (the declaration order), and the matching pattern with the lowest
+     * ordinal wins, so the outcome is the same as evaluating all patterns in order.
+     */
+    private static final class PatternIndex {
+        private static final int[] NONE = new int[0];
+
+        /**
+         * The patterns in evaluation order, the index works on their positions in this array
+         */
+        private final Pattern[] patterns;
+
+        /**
+         * The declaration ordinals of the patterns, by position
+         */
+        private final int[] ordinals;
+
+        private final Map<String, int[]> groupIds;
+
+        private final PrefixTrie groupIdPrefixes;
+
+        private final Map<String, int[]> artifactIds;
 
-    @SuppressWarnings("InnerAssignment")
-    private static boolean match(final String pattern, final boolean containsAsterisk, final String value) {
-        char[] patArr = pattern.toCharArray();
-        char[] strArr = value != null ? value.toCharArray() : new char[0];
-        int patIdxStart = 0;
-        int patIdxEnd = patArr.length - 1;
-        int strIdxStart = 0;
-        int strIdxEnd = strArr.length - 1;
-        char ch;
+        private final PrefixTrie artifactIdPrefixes;
 
-        if (!containsAsterisk) {
-            // No '*'s, so we make a shortcut
-            if (patIdxEnd != strIdxEnd) {
-                return false; // Pattern and string do not have the same size
+        private final int[] unindexed;
+
+        /**
+         * @param declared the patterns in declaration order
+         * @param order the declaration ordinals of the patterns in evaluation order, which must not change the
+         *              outcome of the first matching pattern
+         */
+        private PatternIndex(Pattern[] declared, int[] order) {
+            this.patterns = new Pattern[order.length];
+            for (int position = 0; position < order.length; position++) {
+                this.patterns[position] = declared[order[position]];
             }
-            for (int i = 0; i <= patIdxEnd; i++) {
-                ch = patArr[i];
-                if (ch != '?' && ch != strArr[i]) {
-                    return false; // Character mismatch
+            this.ordinals = order.clone();
+
+            Map<String, List<Integer>> exactGroupIds = new HashMap<>();
+            Map<String, List<Integer>> exactArtifactIds = new HashMap<>();
+            PrefixTrie groupIdPrefixes = new PrefixTrie();
+            PrefixTrie artifactIdPrefixes = new PrefixTrie();
+            List<Integer> unindexed = new ArrayList<>();
+
+            for (int position = 0; position < this.patterns.length; position++) {
+                CoordinateMatchingPattern key = indexKey(this.patterns[position]);
+                if (key == null) {
+                    unindexed.add(position);
+                    continue;
+                }
+
+                boolean groupId = key.coordinates.contains(Coordinate.GROUP_ID);
+                if (!key.containsWildcard) {
+                    (groupId ? exactGroupIds : exactArtifactIds)
+                            .computeIfAbsent(key.token, k -> new ArrayList<>())
+                            .add(position);
+                } else {
+                    String prefix = literalPrefix(key.token);
+                    if (prefix.isEmpty()) {
+                        unindexed.add(position);
+                    } else {
+                        (groupId ? groupIdPrefixes : artifactIdPrefixes).add(prefix, position);
+                    }
                 }
             }
-            return true; // String matches against pattern
+
+            this.groupIds = freeze(exactGroupIds);
+            this.artifactIds = freeze(exactArtifactIds);
+            this.groupIdPrefixes = groupIdPrefixes.isEmpty() ? null : groupIdPrefixes;
+            this.artifactIdPrefixes = artifactIdPrefixes.isEmpty() ? null : artifactIdPrefixes;
+            this.unindexed = toArray(unindexed);
         }
 
-        if (patIdxEnd == 0) {
-            return true; // Pattern contains only '*', which matches anything
+        /**
+         * Returns the declaration ordinal of the first pattern (in evaluation order) matching the artifactoid, or
+         * {@code -1} if none does.
+         */
+        private int match(Artifactoid artifactoid) {
+            int best = patterns.length;
+
+            if (!groupIds.isEmpty() || groupIdPrefixes != null) {
+                String groupId = artifactoid.getCoordinate(Coordinate.GROUP_ID);
+                if (groupId != null) {
+                    best = scan(groupIds.get(groupId), artifactoid, best);
+                    if (groupIdPrefixes != null) {
+                        best = groupIdPrefixes.scan(groupId, this, artifactoid, best);
+                    }
+                }
+            }
+
+            return matchOthers(artifactoid, best);
         }
 
-        // Process characters before first star
-        while ((ch = patArr[patIdxStart]) != '*' && strIdxStart <= strIdxEnd) {
-            if (ch != '?' && ch != strArr[strIdxStart]) {
-                return false; // Character mismatch
+        /**
+         * Same as {@link #match(Artifactoid)}, with the ordinals of the groupId indexed patterns applying to each
+         * groupId memoized in the given map.
+         */
+        private int match(Artifactoid artifactoid, Map<String, int[]> groupIdOrdinals) {
+            int best = patterns.length;
+
+            if (!groupIds.isEmpty() || groupIdPrefixes != null) {
+                String groupId = artifactoid.getCoordinate(Coordinate.GROUP_ID);
+                if (groupId != null) {
+                    best = scan(groupIdOrdinals.computeIfAbsent(groupId, this::groupIdOrdinals), artifactoid, best);
+                }
             }
-            patIdxStart++;
-            strIdxStart++;
+
+            return matchOthers(artifactoid, best);
         }
-        if (strIdxStart > strIdxEnd) {
-            // All characters in the string are used. Check if only '*'s are
-            // left in the pattern. If so, we succeeded. Otherwise failure.
-            for (int i = patIdxStart; i <= patIdxEnd; i++) {
-                if (patArr[i] != '*') {
-                    return false;
+
+        /**
+         * Returns the ascending positions of the groupId indexed patterns that may match the given groupId.
+         */
+        private int[] groupIdOrdinals(String groupId) {
+            int[] exact = groupIds.get(groupId);
+            List<Integer> prefixed = new ArrayList<>();
+            if (groupIdPrefixes != null) {
+                groupIdPrefixes.collect(groupId, prefixed);
+            }
+            if (prefixed.isEmpty()) {
+                return exact != null ? exact : NONE;
+            }
+            if (exact != null) {
+                for (int ordinal : exact) {
+                    prefixed.add(ordinal);
                 }
             }
-            return true;
+            int[] result = toArray(prefixed);
+            Arrays.sort(result);
+            return result;
         }
 
-        // Process characters after last star
-        while ((ch = patArr[patIdxEnd]) != '*' && strIdxStart <= strIdxEnd) {
-            if (ch != '?' && ch != strArr[strIdxEnd]) {
-                return false; // Character mismatch
+        /**
+         * Evaluates the artifactId indexed and the unindexed patterns below position {@code best}, returning the
+         * declaration ordinal of the first matching pattern or {@code -1}.
+         */
+        private int matchOthers(Artifactoid artifactoid, int best) {
+            if (!artifactIds.isEmpty() || artifactIdPrefixes != null) {
+                String artifactId = artifactoid.getCoordinate(Coordinate.ARTIFACT_ID);
+                if (artifactId != null) {
+                    best = scan(artifactIds.get(artifactId), artifactoid, best);
+                    if (artifactIdPrefixes != null) {
+                        best = artifactIdPrefixes.scan(artifactId, this, artifactoid, best);
+                    }
+                }
             }
-            patIdxEnd--;
-            strIdxEnd--;
+            best = scan(unindexed, artifactoid, best);
+
+            return best < patterns.length ? ordinals[best] : -1;
         }
-        if (strIdxStart > strIdxEnd) {
-            // All characters in the string are used. Check if only '*'s are
-            // left in the pattern. If so, we succeeded. Otherwise failure.
-            for (int i = patIdxStart; i <= patIdxEnd; i++) {
-                if (patArr[i] != '*') {
-                    return false;
+
+        /**
+         * Evaluates the (ascending) positions below {@code best}, returning the first matching one or {@code best}.
+         */
+        private int scan(int[] positions, Artifactoid artifactoid, int best) {
+            if (positions != null) {
+                for (int position : positions) {
+                    if (position >= best) {
+                        break;
+                    }
+                    if (patterns[position].matches(artifactoid)) {
+                        return position;
+                    }
                 }
             }
-            return true;
+            return best;
+        }
+
+        /**
+         * Returns the pattern constraining only the groupId or only the artifactId that must match for the given
+         * pattern to match, or {@code null} if there is no such constraint. The groupId is preferred.
+         */
+        private static CoordinateMatchingPattern indexKey(Pattern pattern) {
+            if (pattern instanceof NegativePattern) {
+                return indexKey(((NegativePattern) pattern).inner);
+            } else if (pattern instanceof CoordinateMatchingPattern) {
+                CoordinateMatchingPattern key = (CoordinateMatchingPattern) pattern;
+                return isIndexable(key, Coordinate.GROUP_ID) || isIndexable(key, Coordinate.ARTIFACT_ID) ? key : null;
+            } else if (pattern instanceof AndPattern) {
+                CoordinateMatchingPattern artifactIdKey = null;
+                for (Pattern member : ((AndPattern) pattern).patterns) {
+                    if (member instanceof CoordinateMatchingPattern) {
+                        CoordinateMatchingPattern key = (CoordinateMatchingPattern) member;
+                        if (isIndexable(key, Coordinate.GROUP_ID)) {
+                            return key;
+                        } else if (artifactIdKey == null && isIndexable(key, Coordinate.ARTIFACT_ID)) {
+                            artifactIdKey = key;
+                        }
+                    }
+                }
+                return artifactIdKey;
+            }
+            return null;
         }
 
-        // process pattern between stars. padIdxStart and patIdxEnd point
-        // always to a '*'.
-        while (patIdxStart != patIdxEnd && strIdxStart <= strIdxEnd) {
-            int patIdxTmp = -1;
-            for (int i = patIdxStart + 1; i <= patIdxEnd; i++) {
-                if (patArr[i] == '*') {
-                    patIdxTmp = i;
+        private static boolean isIndexable(CoordinateMatchingPattern pattern, Coordinate coordinate) {
+            return pattern.coordinates.size() == 1 && pattern.coordinates.contains(coordinate);
+        }
+
+        private static String literalPrefix(String token) {
+            for (int i = 0; i < token.length(); i++) {
+                char ch = token.charAt(i);
+                if (ch == '*' || ch == '?') {
+                    return token.substring(0, i);
+                }
+            }
+            return token;
+        }
+
+        private static Map<String, int[]> freeze(Map<String, List<Integer>> buckets) {
+            if (buckets.isEmpty()) {
+                return Collections.emptyMap();
+            }
+            Map<String, int[]> result = new HashMap<>(buckets.size() * 4 / 3 + 1);
+            for (Map.Entry<String, List<Integer>> bucket : buckets.entrySet()) {
+                result.put(bucket.getKey(), toArray(bucket.getValue()));
+            }
+            return result;
+        }
+
+        private static int[] toArray(List<Integer> ordinals) {
+            if (ordinals.isEmpty()) {
+                return NONE;
+            }
+            int[] result = new int[ordinals.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = ordinals.get(i);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Character trie over the literal prefixes of wildcard tokens. Each node holds the ordinals (ascending) of the
+     * patterns whose literal prefix ends at that node, so walking a value visits exactly the patterns whose prefix it
+     * starts with.
+     */
+    private static final class PrefixTrie {
+        private char[] labels = new char[0];
+
+        private PrefixTrie[] children = new PrefixTrie[0];
+
+        private int[] ordinals = PatternIndex.NONE;
+
+        private boolean isEmpty() {
+            return labels.length == 0;
+        }
+
+        private void add(String prefix, int ordinal) {
+            PrefixTrie node = this;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.childOrCreate(prefix.charAt(i));
+            }
+            // ordinals are added in ascending order
+            node.ordinals = Arrays.copyOf(node.ordinals, node.ordinals.length + 1);
+            node.ordinals[node.ordinals.length - 1] = ordinal;
+        }
+
+        private int scan(String value, PatternIndex index, Artifactoid artifactoid, int best) {
+            PrefixTrie node = this;
+            for (int i = 0; i < value.length(); i++) {
+                node = node.child(value.charAt(i));
+                if (node == null) {
                     break;
                 }
+                best = index.scan(node.ordinals, artifactoid, best);
             }
-            if (patIdxTmp == patIdxStart + 1) {
-                // Two stars next to each other, skip the first one.
-                patIdxStart++;
-                continue;
-            }
-            // Find the pattern between padIdxStart & padIdxTmp in str between
-            // strIdxStart & strIdxEnd
-            int patLength = (patIdxTmp - patIdxStart - 1);
-            int strLength = (strIdxEnd - strIdxStart + 1);
-            int foundIdx = -1;
-            strLoop:
-            for (int i = 0; i <= strLength - patLength; i++) {
-                for (int j = 0; j < patLength; j++) {
-                    ch = patArr[patIdxStart + j + 1];
-                    if (ch != '?' && ch != strArr[strIdxStart + i + j]) {
-                        continue strLoop;
-                    }
+            return best;
+        }
+
+        private void collect(String value, List<Integer> result) {
+            PrefixTrie node = this;
+            for (int i = 0; i < value.length(); i++) {
+                node = node.child(value.charAt(i));
+                if (node == null) {
+                    break;
+                }
+                for (int ordinal : node.ordinals) {
+                    result.add(ordinal);
                 }
+            }
+        }
 
-                foundIdx = strIdxStart + i;
-                break;
+        private PrefixTrie child(char label) {
+            int idx = Arrays.binarySearch(labels, label);
+            return idx >= 0 ? children[idx] : null;
+        }
+
+        private PrefixTrie childOrCreate(char label) {
+            int idx = Arrays.binarySearch(labels, label);
+            if (idx >= 0) {
+                return children[idx];
             }
+            int insert = -idx - 1;
+            PrefixTrie child = new PrefixTrie();
+
+            char[] newLabels = new char[labels.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insert);
+            newLabels[insert] = label;
+            System.arraycopy(labels, insert, newLabels, insert + 1, labels.length - insert);
+
+            PrefixTrie[] newChildren = new PrefixTrie[children.length + 1];
+            System.arraycopy(children, 0, newChildren, 0, insert);
+            newChildren[insert] = child;
+            System.arraycopy(children, insert, newChildren, insert + 1, children.length - insert);
+
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+    }
 
-            if (foundIdx == -1) {
-                return false;
+    /**
+     * Matcher of a single pattern token, where {@code *} matches any (possibly empty) sequence and {@code ?} matches
+     * any single character. Tokens are compiled to the simplest matcher for their shape, values are scanned in place.
+     * A {@code null} value is matched as an empty string.
+     */
+    private abstract static class TokenMatcher {
+        abstract boolean matches(String value);
+
+        static TokenMatcher compile(String token) {
+            if (token.indexOf('*') < 0) {
+                return token.indexOf('?') < 0 ? new ExactMatcher(token) : new MaskMatcher(token);
+            }
+
+            // split on '*', consecutive stars are equivalent to a single one
+            List<String> segments = new ArrayList<>();
+            int start = 0;
+            for (int i = 0; i <= token.length(); i++) {
+                if (i == token.length() || token.charAt(i) == '*') {
+                    segments.add(token.substring(start, i));
+                    start = i + 1;
+                }
+            }
+            String head = segments.get(0);
+            String tail = segments.get(segments.size() - 1);
+            List<String> middle = new ArrayList<>();
+            for (String segment : segments.subList(1, segments.size() - 1)) {
+                if (!segment.isEmpty()) {
+                    middle.add(segment);
+                }
+            }
+
+            boolean literal = token.indexOf('?') < 0;
+            if (head.isEmpty() && tail.isEmpty() && middle.isEmpty()) {
+                return AnyMatcher.INSTANCE;
+            } else if (literal && tail.isEmpty() && middle.isEmpty()) {
+                return new PrefixMatcher(head);
+            } else if (literal && head.isEmpty() && middle.isEmpty()) {
+                return new SuffixMatcher(tail);
+            } else if (literal && head.isEmpty() && tail.isEmpty() && middle.size() == 1) {
+                return new ContainsMatcher(middle.get(0));
             }
+            return new GlobMatcher(head, middle.toArray(new String[0]), tail);
+        }
+
+        /**
+         * Whether the segment (possibly containing {@code ?}) matches the value at the given offset.
+         */
+        static boolean regionMatches(String value, int offset, String segment) {
+            for (int i = 0; i < segment.length(); i++) {
+                char ch = segment.charAt(i);
+                if (ch != '?' && ch != value.charAt(offset + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Token without wildcards
+     */
+    private static final class ExactMatcher extends TokenMatcher {
+        private final String token;
+
+        private ExactMatcher(String token) {
+            this.token = token;
+        }
+
+        @Override
+        boolean matches(String value) {
+            return token.equals(value);
+        }
+    }
+
+    /**
+     * Token with {@code ?} but without {@code *}, like {@code 1.?}
+     */
+    private static final class MaskMatcher extends TokenMatcher {
+        private final String mask;
+
+        private MaskMatcher(String mask) {
+            this.mask = mask;
+        }
+
+        @Override
+        boolean matches(String value) {
+            return value != null && value.length() == mask.length() && regionMatches(value, 0, mask);
+        }
+    }
+
+    /**
+     * Token consisting of stars only
+     */
+    private static final class AnyMatcher extends TokenMatcher {
+        private static final AnyMatcher INSTANCE = new AnyMatcher();
+
+        @Override
+        boolean matches(String value) {
+            return true;
+        }
+    }
+
+    /**
+     * Token like {@code prefix*}
+     */
+    private static final class PrefixMatcher extends TokenMatcher {
+        private final String prefix;
+
+        private PrefixMatcher(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        boolean matches(String value) {
+            return value != null && value.startsWith(prefix);
+        }
+    }
+
+    /**
+     * Token like {@code *suffix}
+     */
+    private static final class SuffixMatcher extends TokenMatcher {
+        private final String suffix;
+
+        private SuffixMatcher(String suffix) {
+            this.suffix = suffix;
+        }
+
+        @Override
+        boolean matches(String value) {
+            return value != null && value.endsWith(suffix);
+        }
+    }
+
+    /**
+     * Token like {@code *infix*}
+     */
+    private static final class ContainsMatcher extends TokenMatcher {
+        private final String infix;
 
-            patIdxStart = patIdxTmp;
-            strIdxStart = foundIdx + patLength;
+        private ContainsMatcher(String infix) {
+            this.infix = infix;
         }
 
-        // All characters in the string are used. Check if only '*'s are left
-        // in the pattern. If so, we succeeded. Otherwise failure.
-        for (int i = patIdxStart; i <= patIdxEnd; i++) {
-            if (patArr[i] != '*') {
+        @Override
+        boolean matches(String value) {
+            return value != null && value.contains(infix);
+        }
+    }
+
+    /**
+     * Any other token, precompiled as {@code head*middle[0]*...*middle[n]*tail} where head and tail may be empty.
+     * Head and tail are anchored, the middle segments are searched left to right, which is sufficient as each star
+     * may absorb whatever precedes the leftmost occurrence of the next segment.
+     */
+    private static final class GlobMatcher extends TokenMatcher {
+        private final String head;
+
+        private final String[] middle;
+
+        private final String tail;
+
+        private final int minLength;
+
+        private GlobMatcher(String head, String[] middle, String tail) {
+            this.head = head;
+            this.middle = middle;
+            this.tail = tail;
+            int length = head.length() + tail.length();
+            for (String segment : middle) {
+                length += segment.length();
+            }
+            this.minLength = length;
+        }
+
+        @Override
+        boolean matches(String value) {
+            if (value == null) {
+                value = "";
+            }
+            if (value.length() < minLength) {
+                return false;
+            }
+            int end = value.length() - tail.length();
+            if (!regionMatches(value, 0, head) || !regionMatches(value, end, tail)) {
                 return false;
             }
+            int from = head.length();
+            for (String segment : middle) {
+                from = indexOf(value, segment, from, end);
+                if (from < 0) {
+                    return false;
+                }
+                from += segment.length();
+            }
+            return true;
+        }
+
+        /**
+         * Finds the first occurrence of the segment within {@code [from, end)} of the value.
+         */
+        private static int indexOf(String value, String segment, int from, int end) {
+            for (int i = from; i <= end - segment.length(); i++) {
+                if (regionMatches(value, i, segment)) {
+                    return i;
+                }
+            }
+            return -1;
         }
-        return true;
     }
 }
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter;
+
+/**
+ * Policy of the artifacts a {@link StatisticsReportingArtifactFilter} keeps to report them as filtered. Artifacts are
+ * kept as they are and only formatted when reported, so a policy keeping them costs nothing until then but memory.
+ *
+ * @since 3.4.1
+ */
+public final class ReportingPolicy {
+    /**
+     * Keeps nothing, nothing is reported.
+     */
+    public static final ReportingPolicy OFF = new ReportingPolicy(false, 0);
+
+    /**
+     * Counts the filtered artifacts, only their number is reported.
+     */
+    public static final ReportingPolicy COUNT = new ReportingPolicy(true, 0);
+
+    /**
+     * Keeps all the filtered artifacts, they are all reported. This is the default.
+     */
+    public static final ReportingPolicy FULL = new ReportingPolicy(true, Integer.MAX_VALUE);
+
+    private final boolean counting;
+
+    private final int sampleSize;
+
+    private ReportingPolicy(boolean counting, int sampleSize) {
+        this.counting = counting;
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * Keeps the first filtered artifacts, which are reported along with the number of the others.
+     *
+     * @param sampleSize the maximum number of artifacts kept, must not be negative
+     * @return the policy
+     */
+    public static ReportingPolicy sample(int sampleSize) {
+        if (sampleSize < 0) {
+            throw new IllegalArgumentException("sampleSize must not be negative: " + sampleSize);
+        }
+        return new ReportingPolicy(true, sampleSize);
+    }
+
+    /**
+     * Tells whether the filtered artifacts are counted.
+     *
+     * @return {@code false} if nothing is reported
+     */
+    public boolean isCounting() {
+        return counting;
+    }
+
+    /**
+     * Returns the maximum number of filtered artifacts kept.
+     *
+     * @return the sample size, {@link Integer#MAX_VALUE} if all are kept
+     */
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    @Override
+    public String toString() {
+        if (!counting) {
+            return "off";
+        } else if (sampleSize == 0) {
+            return "count";
+        } else if (sampleSize == Integer.MAX_VALUE) {
+            return "full";
+        }
+        return "sample(" + sampleSize + ")";
+    }
+}
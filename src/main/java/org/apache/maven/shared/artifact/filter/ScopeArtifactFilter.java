@@ -18,12 +18,15 @@
  */
 package org.apache.maven.shared.artifact.filter;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DefaultArtifact;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.apache.maven.shared.artifact.filter.internal.CoordinateInterner;
 import org.slf4j.Logger;
 
 /**
@@ -35,32 +38,80 @@ import org.slf4j.Logger;
  * UNLESS the corresponding XXXWithImplications() method is used to enable that
  * scope.
  */
-public class ScopeArtifactFilter implements ArtifactFilter, StatisticsReportingArtifactFilter {
-    private boolean includeCompileScope;
+public class ScopeArtifactFilter implements BatchArtifactFilter, StatisticsReportingArtifactFilter {
+    private static final int NULL_SCOPE = 0;
 
-    private boolean includeRuntimeScope;
+    private static final int COMPILE_SCOPE = 1;
 
-    private boolean includeTestScope;
+    private static final int RUNTIME_SCOPE = 2;
 
-    private boolean includeProvidedScope;
+    private static final int TEST_SCOPE = 3;
 
-    private boolean includeSystemScope;
+    private static final int PROVIDED_SCOPE = 4;
 
-    private boolean includeNullScope = true;
+    private static final int SYSTEM_SCOPE = 5;
 
-    private boolean nullScopeHit = false;
+    /**
+     * Any other scope, always included and not reported.
+     */
+    private static final int OTHER_SCOPE = 6;
+
+    /**
+     * The bits of the scopes whose hits are reported.
+     */
+    private static final int REPORTED_SCOPES = (1 << OTHER_SCOPE) - 1;
+
+    /**
+     * The known scopes, by ordinal.
+     */
+    private static final String[] SCOPES = {
+        null,
+        Artifact.SCOPE_COMPILE,
+        Artifact.SCOPE_RUNTIME,
+        Artifact.SCOPE_TEST,
+        Artifact.SCOPE_PROVIDED,
+        Artifact.SCOPE_SYSTEM
+    };
+
+    /**
+     * The labels of the known scopes in the missed criteria report, by ordinal.
+     */
+    private static final String[] SCOPE_LABELS = {"[Null Scope]", "Compile", "Runtime", "Test", "Provided", "System"};
+
+    /**
+     * The names of the scopes in the statistics, by ordinal.
+     */
+    private static final String[] SCOPE_NAMES = {"null", "compile", "runtime", "test", "provided", "system", "other"};
 
-    private boolean compileScopeHit = false;
+    /**
+     * The ordinals of the scopes, by coordinate id: scopes that are not known are other scopes.
+     */
+    private static final int[] SCOPE_ORDINALS = new int[CoordinateInterner.size()];
 
-    private boolean runtimeScopeHit = false;
+    static {
+        Arrays.fill(SCOPE_ORDINALS, OTHER_SCOPE);
+        for (int ordinal = COMPILE_SCOPE; ordinal < SCOPES.length; ordinal++) {
+            SCOPE_ORDINALS[CoordinateInterner.id(SCOPES[ordinal])] = ordinal;
+        }
+    }
 
-    private boolean testScopeHit = false;
+    /**
+     * The bits of the included scopes, by ordinal. Other scopes are always included. Volatile and written once per
+     * change, so that the scopes set by a thread are seen whole by the others.
+     */
+    private volatile int includedScopes = bit(NULL_SCOPE) | bit(OTHER_SCOPE);
 
-    private boolean providedScopeHit = false;
+    /**
+     * The bits of the scopes seen so far, by ordinal.
+     */
+    private final AtomicInteger hitScopes = new AtomicInteger();
 
-    private boolean systemScopeHit = false;
+    private volatile FilteredArtifacts filteredArtifacts = new FilteredArtifacts(ReportingPolicy.FULL);
 
-    private final List<String> filteredArtifactIds = new ArrayList<>();
+    /**
+     * The statistics, with the number of artifacts evaluated of each scope, by ordinal.
+     */
+    private final FilterCounters counters = new FilterCounters(SCOPE_NAMES.length);
 
     /**
      * Constructor that is meant to be used with fine-grained manipulation to
@@ -94,43 +145,107 @@ public class ScopeArtifactFilter implements ArtifactFilter, StatisticsReportingA
 
     /** {@inheritDoc} */
     public boolean include(Artifact artifact) {
-        boolean result = true;
-
-        if (artifact.getScope() == null) {
-            nullScopeHit = true;
-            result = includeNullScope;
-        } else if (Artifact.SCOPE_COMPILE.equals(artifact.getScope())) {
-            compileScopeHit = true;
-            result = includeCompileScope;
-        } else if (Artifact.SCOPE_RUNTIME.equals(artifact.getScope())) {
-            runtimeScopeHit = true;
-            result = includeRuntimeScope;
-        } else if (Artifact.SCOPE_TEST.equals(artifact.getScope())) {
-            testScopeHit = true;
-            result = includeTestScope;
-        } else if (Artifact.SCOPE_PROVIDED.equals(artifact.getScope())) {
-            providedScopeHit = true;
-            result = includeProvidedScope;
-        } else if (Artifact.SCOPE_SYSTEM.equals(artifact.getScope())) {
-            systemScopeHit = true;
-            result = includeSystemScope;
-        }
+        long start = counters.start();
+        int scope = scopeOrdinal(artifact.getScope());
+        hit(bit(scope));
+        counters.evaluated(1);
+        counters.hit(scope);
 
+        boolean result = (includedScopes & bit(scope)) != 0;
         if (!result) {
-            // We have to be very careful with artifacts that have ranges,
-            // because DefaultArtifact.getId() as of <= 2.1.0-M1 will throw a NPE
-            // if a range is specified.
-            String id;
-            if (artifact.getVersionRange() != null) {
-                id = artifact.getDependencyConflictId() + ":" + artifact.getVersionRange();
+            counters.rejected();
+            filteredArtifacts.add(artifact);
+        }
+
+        counters.stop(start);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The scopes seen and the statistics are recorded once for the whole list.
+     */
+    @Override
+    public void includeAll(List<Artifact> artifacts, BitSet out) {
+        long start = counters.start();
+        int included = includedScopes;
+        FilteredArtifacts filtered = filteredArtifacts;
+        int hits = 0;
+        long[] scopeCounts = new long[SCOPE_NAMES.length];
+        for (int i = 0; i < artifacts.size(); i++) {
+            Artifact artifact = artifacts.get(i);
+            int scope = scopeOrdinal(artifact.getScope());
+            hits |= bit(scope);
+            scopeCounts[scope]++;
+
+            boolean result = (included & bit(scope)) != 0;
+            if (!result) {
+                counters.rejected();
+                filtered.add(artifact);
+            }
+            out.set(i, result);
+        }
+        hit(hits);
+        counters.evaluated(artifacts.size());
+        for (int scope = 0; scope < scopeCounts.length; scope++) {
+            if (scopeCounts[scope] > 0) {
+                counters.hit(scope, scopeCounts[scope]);
+            }
+        }
+        counters.stop(start);
+    }
+
+    private static int scopeOrdinal(String scope) {
+        // scopes are mostly the constants of Artifact
+        for (int ordinal = NULL_SCOPE; ordinal < SCOPES.length; ordinal++) {
+            if (SCOPES[ordinal] == scope) {
+                return ordinal;
+            }
+        }
+        return SCOPE_ORDINALS[CoordinateInterner.id(scope)];
+    }
+
+    private static int bit(int ordinal) {
+        return 1 << ordinal;
+    }
+
+    private boolean isIncluded(int ordinal) {
+        return (includedScopes & bit(ordinal)) != 0;
+    }
+
+    private synchronized ScopeArtifactFilter setIncluded(boolean enabled, int... ordinals) {
+        int included = includedScopes;
+        for (int ordinal : ordinals) {
+            if (enabled) {
+                included |= bit(ordinal);
             } else {
-                id = artifact.getId();
+                included &= ~bit(ordinal);
             }
+        }
+        includedScopes = included;
+        return this;
+    }
 
-            filteredArtifactIds.add(id);
+    /**
+     * Records the scopes as hit, without contention once they all have been.
+     */
+    private void hit(int scopes) {
+        int hits = hitScopes.get();
+        if ((hits & scopes) != scopes) {
+            hitScopes.accumulateAndGet(scopes, (a, b) -> a | b);
         }
+    }
 
-        return result;
+    private static String getFilteredArtifactId(Artifact artifact) {
+        // We have to be very careful with artifacts that have ranges,
+        // because DefaultArtifact.getId() as of <= 2.1.0-M1 will throw a NPE
+        // if a range is specified.
+        if (artifact.getVersionRange() != null) {
+            return artifact.getDependencyConflictId() + ":" + artifact.getVersionRange();
+        } else {
+            return artifact.getId();
+        }
     }
 
     /**
@@ -139,20 +254,18 @@ public class ScopeArtifactFilter implements ArtifactFilter, StatisticsReportingA
      * @return Information converted to a string.
      */
     public String toString() {
-        return "Scope filter [null-scope=" + includeNullScope + ", compile=" + includeCompileScope + ", runtime="
-                + includeRuntimeScope + ", test=" + includeTestScope + ", provided=" + includeProvidedScope
-                + ", system="
-                + includeSystemScope + "]";
+        return "Scope filter [null-scope=" + isIncluded(NULL_SCOPE) + ", compile=" + isIncluded(COMPILE_SCOPE)
+                + ", runtime=" + isIncluded(RUNTIME_SCOPE) + ", test=" + isIncluded(TEST_SCOPE) + ", provided="
+                + isIncluded(PROVIDED_SCOPE) + ", system=" + isIncluded(SYSTEM_SCOPE) + "]";
     }
 
     /** {@inheritDoc} */
     public void reportFilteredArtifacts(Logger logger) {
-        if (!filteredArtifactIds.isEmpty() && logger.isDebugEnabled()) {
+        FilteredArtifacts filtered = filteredArtifacts;
+        if (!filtered.isEmpty() && logger.isDebugEnabled()) {
             StringBuilder buffer = new StringBuilder("The following artifacts were removed by this filter: ");
 
-            for (String artifactId : filteredArtifactIds) {
-                buffer.append('\n').append(artifactId);
-            }
+            filtered.appendTo(buffer, "\n", ScopeArtifactFilter::getFilteredArtifactId);
 
             logger.debug(buffer.toString());
         }
@@ -163,33 +276,14 @@ public class ScopeArtifactFilter implements ArtifactFilter, StatisticsReportingA
         if (logger.isDebugEnabled()) {
             StringBuilder buffer = new StringBuilder();
 
-            boolean report = false;
-            if (!nullScopeHit) {
-                buffer.append("\no [Null Scope]");
-                report = true;
-            }
-            if (!compileScopeHit) {
-                buffer.append("\no Compile");
-                report = true;
-            }
-            if (!runtimeScopeHit) {
-                buffer.append("\no Runtime");
-                report = true;
-            }
-            if (!testScopeHit) {
-                buffer.append("\no Test");
-                report = true;
-            }
-            if (!providedScopeHit) {
-                buffer.append("\no Provided");
-                report = true;
-            }
-            if (!systemScopeHit) {
-                buffer.append("\no System");
-                report = true;
+            int hits = hitScopes.get();
+            for (int ordinal = NULL_SCOPE; ordinal < SCOPE_LABELS.length; ordinal++) {
+                if ((hits & bit(ordinal)) == 0) {
+                    buffer.append("\no ").append(SCOPE_LABELS[ordinal]);
+                }
             }
 
-            if (report) {
+            if (buffer.length() > 0) {
                 logger.debug("The following scope filters were not used: {}", buffer);
             }
         }
@@ -201,21 +295,16 @@ public class ScopeArtifactFilter implements ArtifactFilter, StatisticsReportingA
      * @return a boolean.
      */
     public boolean hasMissedCriteria() {
-        return !nullScopeHit
-                || !compileScopeHit
-                || !runtimeScopeHit
-                || !testScopeHit
-                || !providedScopeHit
-                || !systemScopeHit;
+        return (hitScopes.get() & REPORTED_SCOPES) != REPORTED_SCOPES;
     }
 
     /**
      * <p>isIncludeCompileScope.</p>
      *
-     * @return {@link #includeCompileScope}
+     * @return whether the compile scope is included
      */
     public boolean isIncludeCompileScope() {
-        return includeCompileScope;
+        return isIncluded(COMPILE_SCOPE);
     }
 
     /**
@@ -225,18 +314,16 @@ public class ScopeArtifactFilter implements ArtifactFilter, StatisticsReportingA
      * @return {@link org.apache.maven.shared.artifact.filter.ScopeArtifactFilter}
      */
     public ScopeArtifactFilter setIncludeCompileScope(boolean pIncludeCompileScope) {
-        this.includeCompileScope = pIncludeCompileScope;
-
-        return this;
+        return setIncluded(pIncludeCompileScope, COMPILE_SCOPE);
     }
 
     /**
      * <p>isIncludeRuntimeScope.</p>
      *
-     * @return {@link #includeRuntimeScope}
+     * @return whether the runtime scope is included
      */
     public boolean isIncludeRuntimeScope() {
-        return includeRuntimeScope;
+        return isIncluded(RUNTIME_SCOPE);
     }
 
     /**
@@ -246,39 +333,35 @@ public class ScopeArtifactFilter implements ArtifactFilter, StatisticsReportingA
      * @return {@link org.apache.maven.shared.artifact.filter.ScopeArtifactFilter}
      */
     public ScopeArtifactFilter setIncludeRuntimeScope(boolean pIncludeRuntimeScope) {
-        this.includeRuntimeScope = pIncludeRuntimeScope;
-
-        return this;
+        return setIncluded(pIncludeRuntimeScope, RUNTIME_SCOPE);
     }
 
     /**
      * <p>isIncludeTestScope.</p>
      *
-     * @return {@link #includeTestScope}
+     * @return whether the test scope is included
      */
     public boolean isIncludeTestScope() {
-        return includeTestScope;
+        return isIncluded(TEST_SCOPE);
     }
 
     /**
      * <p>Setter for the field <code>includeTestScope</code>.</p>
      *
-     * @param pIncludeTestScope {@link #includeTestScope}
+     * @param pIncludeTestScope whether the test scope is included
      * @return {@link org.apache.maven.shared.artifact.filter.ScopeArtifactFilter}
      */
     public ScopeArtifactFilter setIncludeTestScope(boolean pIncludeTestScope) {
-        this.includeTestScope = pIncludeTestScope;
-
-        return this;
+        return setIncluded(pIncludeTestScope, TEST_SCOPE);
     }
 
     /**
      * <p>isIncludeProvidedScope.</p>
      *
-     * @return {@link #includeProvidedScope}
+     * @return whether the provided scope is included
      */
     public boolean isIncludeProvidedScope() {
-        return includeProvidedScope;
+        return isIncluded(PROVIDED_SCOPE);
     }
 
     /**
@@ -288,18 +371,16 @@ public class ScopeArtifactFilter implements ArtifactFilter, StatisticsReportingA
      * @return {@link #ScopeArtifactFilter()}
      */
     public ScopeArtifactFilter setIncludeProvidedScope(boolean pIncludeProvidedScope) {
-        this.includeProvidedScope = pIncludeProvidedScope;
-
-        return this;
+        return setIncluded(pIncludeProvidedScope, PROVIDED_SCOPE);
     }
 
     /**
      * <p>isIncludeSystemScope.</p>
      *
-     * @return {@link #includeSystemScope}
+     * @return whether the system scope is included
      */
     public boolean isIncludeSystemScope() {
-        return includeSystemScope;
+        return isIncluded(SYSTEM_SCOPE);
     }
 
     /**
@@ -309,9 +390,7 @@ public class ScopeArtifactFilter implements ArtifactFilter, StatisticsReportingA
      * @return a {@link org.apache.maven.shared.artifact.filter.ScopeArtifactFilter} object.
      */
     public ScopeArtifactFilter setIncludeSystemScope(boolean pIncludeSystemScope) {
-        this.includeSystemScope = pIncludeSystemScope;
-
-        return this;
+        return setIncluded(pIncludeSystemScope, SYSTEM_SCOPE);
     }
 
     /**
@@ -327,11 +406,7 @@ public class ScopeArtifactFilter implements ArtifactFilter, StatisticsReportingA
      * @return this instance
      */
     public ScopeArtifactFilter setIncludeCompileScopeWithImplications(boolean enabled) {
-        includeSystemScope = enabled;
-        includeProvidedScope = enabled;
-        includeCompileScope = enabled;
-
-        return this;
+        return setIncluded(enabled, SYSTEM_SCOPE, PROVIDED_SCOPE, COMPILE_SCOPE);
     }
 
     /**
@@ -346,10 +421,7 @@ public class ScopeArtifactFilter implements ArtifactFilter, StatisticsReportingA
      * @return this instance
      */
     public ScopeArtifactFilter setIncludeRuntimeScopeWithImplications(boolean enabled) {
-        includeCompileScope = enabled;
-        includeRuntimeScope = enabled;
-
-        return this;
+        return setIncluded(enabled, COMPILE_SCOPE, RUNTIME_SCOPE);
     }
 
     /**
@@ -367,13 +439,7 @@ public class ScopeArtifactFilter implements ArtifactFilter, StatisticsReportingA
      * @return this instance
      */
     public ScopeArtifactFilter setIncludeTestScopeWithImplications(boolean enabled) {
-        includeSystemScope = enabled;
-        includeProvidedScope = enabled;
-        includeCompileScope = enabled;
-        includeRuntimeScope = enabled;
-        includeTestScope = enabled;
-
-        return this;
+        return setIncluded(enabled, SYSTEM_SCOPE, PROVIDED_SCOPE, COMPILE_SCOPE, RUNTIME_SCOPE, TEST_SCOPE);
     }
 
     /**
@@ -383,23 +449,67 @@ public class ScopeArtifactFilter implements ArtifactFilter, StatisticsReportingA
      * @return this instance
      */
     public ScopeArtifactFilter setIncludeNullScope(boolean enable) {
-        includeNullScope = enable;
+        return setIncluded(enable, NULL_SCOPE);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The criteria are the scopes, counted whether the artifacts of a scope are included or not. Artifacts of an
+     * unknown scope are counted as {@code other}.
+     */
+    @Override
+    public FilterStatistics getStatistics() {
+        return counters.snapshot(SCOPE_NAMES);
+    }
+
+    /**
+     * Enables or disables the measure of the time spent in {@link #include(Artifact)}, which is disabled by default.
+     *
+     * @param timed whether to measure the time spent filtering
+     * @return this instance
+     * @since 3.4.1
+     */
+    public ScopeArtifactFilter setTimed(boolean timed) {
+        counters.setTimed(timed);
 
         return this;
     }
 
     /**
-     * Reset hit counts and tracking of filtered artifacts, BUT NOT ENABLED SCOPES.
+     * Sets which filtered artifacts are kept for {@link #reportFilteredArtifacts(Logger)}, forgetting those tracked so
+     * far. The default is {@link ReportingPolicy#FULL}.
+     *
+     * @param policy the reporting policy
+     * @return this instance
+     * @since 3.4.1
+     */
+    public ScopeArtifactFilter setReportingPolicy(ReportingPolicy policy) {
+        filteredArtifacts = new FilteredArtifacts(policy);
+
+        return this;
+    }
+
+    /**
+     * Returns which filtered artifacts are kept for {@link #reportFilteredArtifacts(Logger)}.
+     *
+     * @return the reporting policy
+     * @since 3.4.1
+     */
+    public ReportingPolicy getReportingPolicy() {
+        return filteredArtifacts.getPolicy();
+    }
+
+    /**
+     * Reset hit counts, statistics and tracking of filtered artifacts, BUT NOT ENABLED SCOPES.
      *
      * @return this instance
      */
     public ScopeArtifactFilter reset() {
-        compileScopeHit = false;
-        runtimeScopeHit = false;
-        testScopeHit = false;
-        providedScopeHit = false;
-        systemScopeHit = false;
-        filteredArtifactIds.clear();
+        // the null scope hit is kept
+        hitScopes.accumulateAndGet(bit(NULL_SCOPE), (a, b) -> a & b);
+        filteredArtifacts.clear();
+        counters.reset();
 
         return this;
     }
@@ -45,4 +45,14 @@ public interface StatisticsReportingArtifactFilter {
      * @return {@code true} if missed criteria; {@code false} otherwise.
      */
     boolean hasMissedCriteria();
+
+    /**
+     * Returns a snapshot of the statistics collected by this filter so far.
+     *
+     * @return the statistics, empty if this filter does not collect any
+     * @since 3.4.1
+     */
+    default FilterStatistics getStatistics() {
+        return FilterStatistics.empty();
+    }
 }
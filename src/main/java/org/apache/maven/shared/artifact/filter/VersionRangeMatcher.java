@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter;
+
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.shared.artifact.filter.internal.BoundedCache;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Matcher of version strings against a version range, memoizing whether each version is contained. The same handful
+ * of version strings is checked against a range over and over, so each is parsed once per range. Only the outcome is
+ * kept: the parsed versions are mutable and never leave the matcher.
+ */
+final class VersionRangeMatcher {
+    private static final int MAX_SIZE = 1024;
+
+    private final VersionRange range;
+
+    private final BoundedCache<String, Boolean> contained = new BoundedCache<>(MAX_SIZE);
+
+    /**
+     * Creates a new matcher.
+     *
+     * @param range the version range, must not be {@code null}
+     */
+    VersionRangeMatcher(VersionRange range) {
+        this.range = requireNonNull(range, "range");
+    }
+
+    /**
+     * Returns whether the range contains the version.
+     *
+     * @param version the version string
+     * @return {@code true} if the range contains the version
+     * @throws NullPointerException if the version is {@code null}, which does not parse
+     */
+    boolean containsVersion(String version) {
+        if (version == null) {
+            // not cached, fails to parse as it always did
+            return range.containsVersion(new DefaultArtifactVersion(version));
+        }
+        return contained.get(version, v -> range.containsVersion(new DefaultArtifactVersion(v)));
+    }
+
+    /**
+     * @return the number of versions answered from the cache
+     */
+    long getHitCount() {
+        return contained.getHitCount();
+    }
+
+    /**
+     * @return the number of versions that had to be parsed
+     */
+    long getMissCount() {
+        return contained.getMissCount();
+    }
+
+    @Override
+    public String toString() {
+        return range.toString();
+    }
+}
@@ -19,12 +19,15 @@
 package org.apache.maven.shared.artifact.filter.collection;
 
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Predicate;
 
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.shared.artifact.filter.internal.CoordinateInterner;
 
 import static org.apache.maven.shared.artifact.filter.internal.Utils.isNotEmpty;
 
@@ -42,6 +45,15 @@ public abstract class AbstractArtifactFeatureFilter extends AbstractArtifactsFil
      */
     private List<String> excludes;
 
+    /** The compiled includes, {@code null} until first used; volatile as filters may be shared */
+    private volatile Predicate<String> includesMatcher;
+
+    /** The compiled excludes, {@code null} until first used; volatile as filters may be shared */
+    private volatile Predicate<String> excludesMatcher;
+
+    /** Whether {@link #filter(Set)} is not overridden, so artifacts can be matched one by one */
+    private final boolean filtersNatively = filtersAs(AbstractArtifactFeatureFilter.class);
+
     /**
      * <p>Constructor for AbstractArtifactFeatureFilter.</p>
      *
@@ -59,73 +71,108 @@ public abstract class AbstractArtifactFeatureFilter extends AbstractArtifactsFil
      * This function determines if filtering needs to be performed. Includes are processed before Excludes.
      */
     public Set<Artifact> filter(Set<Artifact> artifacts) {
-        Set<Artifact> results = artifacts;
-
-        if (this.includes != null && !this.includes.isEmpty()) {
-            results = filterIncludes(results, this.includes);
+        if (!hasIncludes() && !hasExcludes()) {
+            return artifacts;
         }
 
-        if (this.excludes != null && !this.excludes.isEmpty()) {
-            results = filterExcludes(results, this.excludes);
+        Set<Artifact> results = new LinkedHashSet<>();
+        for (Artifact artifact : artifacts) {
+            if (include(artifact)) {
+                results.add(artifact);
+            }
         }
-
         return results;
     }
 
     /**
-     * Processes the dependencies list and includes the dependencies that match a filter in the list.
+     * {@inheritDoc}
      *
-     * @param artifacts List of dependencies.
-     * @param theIncludes List of types or classifiers to include.
-     * @return a set of filtered artifacts.
+     * The feature of the artifact is matched directly, unless {@link #filter(Set)} is overridden.
      */
-    private Set<Artifact> filterIncludes(Set<Artifact> artifacts, List<String> theIncludes) {
-        Set<Artifact> result = new LinkedHashSet<>();
+    @Override
+    public boolean isArtifactIncluded(Artifact artifact) throws ArtifactFilterException {
+        if (!filtersNatively) {
+            return super.isArtifactIncluded(artifact);
+        }
+        return (!hasIncludes() && !hasExcludes()) || include(artifact);
+    }
 
-        for (Artifact artifact : artifacts) {
-            for (String include : theIncludes) {
-                // if the classifier or type of the artifact
-                // matches the feature
-                // to include, add to the
-                // results
-                if (compareFeatures(getArtifactFeature(artifact), include)) {
-                    result.add(artifact);
-                }
-            }
+    /**
+     * Tells whether the artifact is kept: its type or classifier matches a feature to include, if any, and no feature
+     * to exclude.
+     */
+    private boolean include(Artifact artifact) {
+        String feature = getArtifactFeature(artifact);
+        return (!hasIncludes() || getIncludesMatcher().test(feature))
+                && (!hasExcludes() || !getExcludesMatcher().test(feature));
+    }
+
+    private boolean hasIncludes() {
+        return this.includes != null && !this.includes.isEmpty();
+    }
+
+    private boolean hasExcludes() {
+        return this.excludes != null && !this.excludes.isEmpty();
+    }
+
+    private Predicate<String> getIncludesMatcher() {
+        Predicate<String> matcher = includesMatcher;
+        if (matcher == null) {
+            matcher = compileFeatures(includes);
+            includesMatcher = matcher;
         }
-        return result;
+        return matcher;
+    }
+
+    private Predicate<String> getExcludesMatcher() {
+        Predicate<String> matcher = excludesMatcher;
+        if (matcher == null) {
+            matcher = compileFeatures(excludes);
+            excludesMatcher = matcher;
+        }
+        return matcher;
     }
 
     /**
-     * Processes the dependencies list and excludes the dependencies that match a filter in the list.
+     * Compiles the features into a predicate telling whether an artifact feature matches any of them, as defined by
+     * {@link #compareFeatures(String, String)}. Equality is answered by comparing coordinate ids when all features are
+     * well-known types or classifiers, else by a hash lookup, other comparisons fall back to comparing the artifact
+     * feature to each feature.
      *
-     * @param artifacts List of dependencies.
-     * @param theExcludes List of types or classifiers to exclude.
-     * @return a set of filtered artifacts.
+     * @param features the types or classifiers to match
+     * @return the predicate
      */
-    private Set<Artifact> filterExcludes(Set<Artifact> artifacts, List<String> theExcludes) {
-        Set<Artifact> result = new LinkedHashSet<>();
-
-        for (Artifact artifact : artifacts) {
-            boolean exclude = false;
-            String artifactFeature = getArtifactFeature(artifact);
-
-            // look through all types or classifiers. If no
-            // matches are found
-            // then it can be added to the results.
-            for (String excludeFeature : theExcludes) {
-                if (compareFeatures(artifactFeature, excludeFeature)) {
-                    exclude = true;
-                    break;
+    Predicate<String> compileFeatures(List<String> features) {
+        if (comparesFeaturesAs(AbstractArtifactFeatureFilter.class)) {
+            long ids = 0;
+            for (String feature : features) {
+                int id = CoordinateInterner.id(feature);
+                if (id == CoordinateInterner.UNKNOWN) {
+                    Set<String> set = new HashSet<>(features);
+                    return set::contains;
                 }
+                ids |= 1L << id;
             }
-
-            if (!exclude) {
-                result.add(artifact);
-            }
+            long mask = ids;
+            return artifactFeature -> (mask & 1L << CoordinateInterner.id(artifactFeature)) != 0;
         }
+        List<String> list = features;
+        return artifactFeature -> {
+            for (String feature : list) {
+                if (compareFeatures(artifactFeature, feature)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
 
-        return result;
+    /**
+     * Tells whether {@link #compareFeatures(String, String)} is the implementation of the given class, and not
+     * overridden by a subclass of it.
+     */
+    boolean comparesFeaturesAs(Class<? extends AbstractArtifactFeatureFilter> type) {
+        return !isOverriddenBelow(type, "compareFeatures", String.class, String.class);
     }
 
     /**
@@ -144,6 +191,7 @@ public abstract class AbstractArtifactFeatureFilter extends AbstractArtifactsFil
     public void setExcludes(String excludeString) {
         if (isNotEmpty(excludeString)) {
             this.excludes = Arrays.asList(excludeString.split(","));
+            this.excludesMatcher = null;
         }
     }
 
@@ -155,6 +203,7 @@ public abstract class AbstractArtifactFeatureFilter extends AbstractArtifactsFil
     public void setIncludes(String includeString) {
         if (isNotEmpty(includeString)) {
             this.includes = Arrays.asList(includeString.split(","));
+            this.includesMatcher = null;
         }
     }
 
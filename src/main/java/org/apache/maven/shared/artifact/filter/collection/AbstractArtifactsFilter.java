@@ -18,8 +18,14 @@
  */
 package org.apache.maven.shared.artifact.filter.collection;
 
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.maven.artifact.Artifact;
 
@@ -29,6 +35,18 @@ import org.apache.maven.artifact.Artifact;
  * @author <a href="mailto:brianf@apache.org">Brian Fox</a>
  */
 public abstract class AbstractArtifactsFilter implements ArtifactsFilter {
+    /**
+     * Whether a method is overridden below a class, by filter class, see
+     * {@link #isOverriddenBelow(Class, String, Class...)}.
+     */
+    private static final ClassValue<Map<List<Object>, Boolean>> OVERRIDES =
+            new ClassValue<Map<List<Object>, Boolean>>() {
+                @Override
+                protected Map<List<Object>, Boolean> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
     /** {@inheritDoc} */
     public boolean isArtifactIncluded(Artifact artifact) throws ArtifactFilterException {
         Set<Artifact> set = new LinkedHashSet<>();
@@ -37,4 +55,35 @@ public abstract class AbstractArtifactsFilter implements ArtifactsFilter {
         set = filter(set);
         return set.contains(artifact);
     }
+
+    /**
+     * Tells whether {@link #filter(Set)} is the implementation of the given class, and not overridden by a subclass
+     * of it, in which case that class may answer {@link #isArtifactIncluded(Artifact)} without filtering a set.
+     */
+    boolean filtersAs(Class<? extends AbstractArtifactsFilter> type) {
+        return !isOverriddenBelow(type, "filter", Set.class);
+    }
+
+    /**
+     * Tells whether the given method is declared by a class between the class of this filter, inclusive, and the
+     * given class, exclusive. The answer is computed once per filter class.
+     */
+    boolean isOverriddenBelow(Class<? extends AbstractArtifactsFilter> type, String name, Class<?>... parameterTypes) {
+        List<Object> method = new ArrayList<>(parameterTypes.length + 2);
+        method.add(type);
+        method.add(name);
+        method.addAll(Arrays.asList(parameterTypes));
+        return OVERRIDES.get(getClass()).computeIfAbsent(method, m -> isDeclaredBelow(type, name, parameterTypes));
+    }
+
+    private boolean isDeclaredBelow(Class<?> type, String name, Class<?>[] parameterTypes) {
+        for (Class<?> c = getClass(); c != type; c = c.getSuperclass()) {
+            for (Method method : c.getDeclaredMethods()) {
+                if (method.getName().equals(name) && Arrays.equals(method.getParameterTypes(), parameterTypes)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
 }
@@ -18,17 +18,32 @@
  */
 package org.apache.maven.shared.artifact.filter.collection;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import org.apache.maven.RepositoryUtils;
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.model.Profile;
 import org.apache.maven.project.DefaultProjectBuildingRequest;
 import org.apache.maven.project.DependencyResolutionResult;
 import org.apache.maven.project.ProjectBuilder;
 import org.apache.maven.project.ProjectBuildingException;
 import org.apache.maven.project.ProjectBuildingRequest;
 import org.apache.maven.project.ProjectBuildingResult;
+import org.apache.maven.shared.artifact.filter.internal.BoundedCache;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
 import org.eclipse.aether.graph.Dependency;
 
 /**
@@ -37,10 +52,23 @@ import org.eclipse.aether.graph.Dependency;
  * @author <a href="mailto:brianf@apache.org">Brian Fox</a>
  */
 public class ArtifactTransitivityFilter extends AbstractArtifactsFilter {
+    /**
+     * Key of the transitive closures cache in the repository session data.
+     */
+    private static final Object CLOSURES_KEY = ArtifactTransitivityFilter.class.getName() + ".closures";
+
+    /**
+     * Maximum number of transitive closures cached per repository session.
+     */
+    private static final int CLOSURES_CACHE_SIZE = 256;
+
     /**
      * List of dependencyConflictIds of transitiveArtifacts
      */
-    private Set<String> transitiveArtifacts;
+    private final Set<String> transitiveArtifacts;
+
+    /** Whether {@link #filter(Set)} is not overridden, so artifacts can be matched one by one */
+    private final boolean filtersNatively = filtersAs(ArtifactTransitivityFilter.class);
 
     /**
      * <p>
@@ -56,6 +84,11 @@ public class ArtifactTransitivityFilter extends AbstractArtifactsFilter {
      *   &#64;Requirement // or &#64;Inject
      *   private ProjectBuilder projectBuilder;
      * </pre>
+     * <p>
+     * The dependencies of an artifact are cached in the repository session of the buildingRequest, so filters created
+     * for the same artifact and an equivalent buildingRequest during the session share them. Concurrent callers
+     * waiting for the same dependencies have them resolved once.
+     * </p>
      *
      * @param artifact        the artifact to resolve the dependencies from
      * @param buildingRequest the buildingRequest
@@ -65,19 +98,7 @@ public class ArtifactTransitivityFilter extends AbstractArtifactsFilter {
     public ArtifactTransitivityFilter(
             Artifact artifact, ProjectBuildingRequest buildingRequest, ProjectBuilder projectBuilder)
             throws ProjectBuildingException {
-        ProjectBuildingRequest request = new DefaultProjectBuildingRequest(buildingRequest);
-
-        request.setResolveDependencies(true);
-
-        ProjectBuildingResult buildingResult = projectBuilder.build(artifact, request);
-
-        DependencyResolutionResult resolutionResult = buildingResult.getDependencyResolutionResult();
-        if (resolutionResult != null) {
-            for (Dependency dependency : resolutionResult.getDependencies()) {
-                Artifact mavenArtifact = RepositoryUtils.toArtifact(dependency.getArtifact());
-                transitiveArtifacts.add(mavenArtifact.getDependencyConflictId());
-            }
-        }
+        this.transitiveArtifacts = getTransitiveArtifacts(artifact, buildingRequest, projectBuilder);
     }
 
     /** {@inheritDoc} */
@@ -91,6 +112,19 @@ public class ArtifactTransitivityFilter extends AbstractArtifactsFilter {
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The artifact is looked up in the transitive dependencies directly, unless {@link #filter(Set)} is overridden.
+     */
+    @Override
+    public boolean isArtifactIncluded(Artifact artifact) throws ArtifactFilterException {
+        if (!filtersNatively) {
+            return super.isArtifactIncluded(artifact);
+        }
+        return artifactIsATransitiveDependency(artifact);
+    }
+
     /**
      * Compares the artifact to the list of dependencies to see if it is directly included by this project
      *
@@ -100,4 +134,142 @@ public class ArtifactTransitivityFilter extends AbstractArtifactsFilter {
     public boolean artifactIsATransitiveDependency(Artifact artifact) {
         return transitiveArtifacts.contains(artifact.getDependencyConflictId());
     }
+
+    private static Set<String> getTransitiveArtifacts(
+            Artifact artifact, ProjectBuildingRequest buildingRequest, ProjectBuilder projectBuilder)
+            throws ProjectBuildingException {
+        BoundedCache<List<Object>, CompletableFuture<Set<String>>> closures =
+                getClosuresCache(buildingRequest.getRepositorySession());
+        if (closures == null) {
+            return resolveTransitiveArtifacts(artifact, buildingRequest, projectBuilder);
+        }
+
+        List<Object> key = fingerprint(artifact, buildingRequest);
+        CompletableFuture<Set<String>> created = new CompletableFuture<>();
+        CompletableFuture<Set<String>> closure = closures.get(key, k -> created);
+        if (closure == created) {
+            try {
+                created.complete(resolveTransitiveArtifacts(artifact, buildingRequest, projectBuilder));
+            } catch (ProjectBuildingException | RuntimeException | Error e) {
+                // failures are not cached, the waiting callers get the failure though
+                closures.remove(key, created);
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        try {
+            return closure.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return resolveTransitiveArtifacts(artifact, buildingRequest, projectBuilder);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ProjectBuildingException) {
+                throw (ProjectBuildingException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static Set<String> resolveTransitiveArtifacts(
+            Artifact artifact, ProjectBuildingRequest buildingRequest, ProjectBuilder projectBuilder)
+            throws ProjectBuildingException {
+        ProjectBuildingRequest request = new DefaultProjectBuildingRequest(buildingRequest);
+
+        request.setResolveDependencies(true);
+
+        ProjectBuildingResult buildingResult = projectBuilder.build(artifact, request);
+
+        Set<String> transitiveArtifacts = new HashSet<>();
+        DependencyResolutionResult resolutionResult = buildingResult.getDependencyResolutionResult();
+        if (resolutionResult != null) {
+            for (Dependency dependency : resolutionResult.getDependencies()) {
+                Artifact mavenArtifact = RepositoryUtils.toArtifact(dependency.getArtifact());
+                transitiveArtifacts.add(mavenArtifact.getDependencyConflictId());
+            }
+        }
+        return Collections.unmodifiableSet(transitiveArtifacts);
+    }
+
+    /**
+     * Returns the transitive closures cache of the repository session, or {@code null} if there is no session data to
+     * hold it.
+     */
+    @SuppressWarnings("unchecked")
+    private static BoundedCache<List<Object>, CompletableFuture<Set<String>>> getClosuresCache(
+            RepositorySystemSession session) {
+        SessionData data = session != null ? session.getData() : null;
+        if (data == null) {
+            return null;
+        }
+
+        Object closures = data.get(CLOSURES_KEY);
+        while (!(closures instanceof BoundedCache)) {
+            BoundedCache<List<Object>, CompletableFuture<Set<String>>> created =
+                    new BoundedCache<>(CLOSURES_CACHE_SIZE);
+            if (data.set(CLOSURES_KEY, closures, created)) {
+                return created;
+            }
+            closures = data.get(CLOSURES_KEY);
+        }
+        return (BoundedCache<List<Object>, CompletableFuture<Set<String>>>) closures;
+    }
+
+    /**
+     * Returns the key of the transitive closure of the artifact: its coordinates, and a snapshot of the parts of the
+     * building request that affect the built project and the resolution of its dependencies.
+     */
+    private static List<Object> fingerprint(Artifact artifact, ProjectBuildingRequest buildingRequest) {
+        return Arrays.asList(
+                artifact.getGroupId(),
+                artifact.getArtifactId(),
+                artifact.getVersion(),
+                repositories(buildingRequest.getRemoteRepositories()),
+                repository(buildingRequest.getLocalRepository()),
+                copy(buildingRequest.getActiveProfileIds()),
+                copy(buildingRequest.getInactiveProfileIds()),
+                profiles(buildingRequest.getProfiles()),
+                copy(buildingRequest.getSystemProperties()),
+                copy(buildingRequest.getUserProperties()),
+                buildingRequest.getValidationLevel(),
+                buildingRequest.isProcessPlugins(),
+                buildingRequest.getRepositoryMerging());
+    }
+
+    private static List<String> repositories(List<ArtifactRepository> repositories) {
+        List<String> result = new ArrayList<>();
+        if (repositories != null) {
+            for (ArtifactRepository repository : repositories) {
+                result.add(repository(repository));
+            }
+        }
+        return result;
+    }
+
+    private static String repository(ArtifactRepository repository) {
+        return repository != null ? repository.getId() + ":" + repository.getUrl() : null;
+    }
+
+    private static List<String> profiles(List<Profile> profiles) {
+        List<String> result = new ArrayList<>();
+        if (profiles != null) {
+            for (Profile profile : profiles) {
+                result.add(profile.getId());
+            }
+        }
+        return result;
+    }
+
+    private static List<String> copy(List<String> values) {
+        return values != null ? new ArrayList<>(values) : Collections.emptyList();
+    }
+
+    private static Map<Object, Object> copy(Properties properties) {
+        return properties != null ? new HashMap<>(properties) : Collections.emptyMap();
+    }
 }
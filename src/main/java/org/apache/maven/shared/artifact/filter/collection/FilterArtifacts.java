@@ -19,8 +19,15 @@
 package org.apache.maven.shared.artifact.filter.collection;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
 
 import org.apache.maven.artifact.Artifact;
 
@@ -30,8 +37,28 @@ import org.apache.maven.artifact.Artifact;
  * @author <a href="mailto:brianf@apache.org">Brian Fox</a>
  */
 public class FilterArtifacts {
+    /**
+     * Number of artifacts in a chunk of the pipelined mode.
+     */
+    private static final int CHUNK_SIZE = 1024;
+
+    /**
+     * Filters deciding on each artifact independently of the other artifacts of the set, as long as they are not
+     * subclassed.
+     */
+    private static final Set<Class<?>> STATELESS_FILTERS = new HashSet<>(Arrays.asList(
+            ArtifactIdFilter.class,
+            ArtifactTransitivityFilter.class,
+            ClassifierFilter.class,
+            GroupIdFilter.class,
+            ProjectTransitivityFilter.class,
+            ScopeFilter.class,
+            TypeFilter.class));
+
     private List<ArtifactsFilter> filters;
 
+    private boolean pipelined;
+
     /**
      * Created new instance.
      */
@@ -79,6 +106,15 @@ public class FilterArtifacts {
      * @throws org.apache.maven.shared.artifact.filter.collection.ArtifactFilterException in case of a failure.
      */
     public Set<Artifact> filter(Set<Artifact> artifacts) throws ArtifactFilterException {
+        if (pipelined && artifacts.size() > CHUNK_SIZE) {
+            return filterPipelined(artifacts);
+        }
+
+        return filter(artifacts, filters);
+    }
+
+    private static Set<Artifact> filter(Set<Artifact> artifacts, List<ArtifactsFilter> filters)
+            throws ArtifactFilterException {
         // apply filters
         for (ArtifactsFilter filter : filters) {
             // log(artifacts,log);
@@ -92,6 +128,129 @@ public class FilterArtifacts {
         return artifacts;
     }
 
+    /**
+     * Applies each run of consecutive stateless filters in a single pass over the artifacts, see
+     * {@link #filterInOnePass(Set, List)}. Other filters are applied to the whole set, as in the sequential mode.
+     */
+    private Set<Artifact> filterPipelined(Set<Artifact> artifacts) throws ArtifactFilterException {
+        int start = 0;
+        for (int i = 0; i <= filters.size(); i++) {
+            if (i == filters.size() || !isStateless(filters.get(i))) {
+                if (i > start) {
+                    artifacts = filterInOnePass(artifacts, filters.subList(start, i));
+                }
+                if (i < filters.size()) {
+                    artifacts = filter(artifacts, Collections.singletonList(filters.get(i)));
+                }
+                start = i + 1;
+            }
+        }
+
+        return artifacts;
+    }
+
+    /**
+     * Evaluates each artifact once against the filters of the run, in order, with
+     * {@link ArtifactsFilter#isArtifactIncluded(Artifact)}. The artifacts are split in chunks evaluated on the
+     * fork-join pool, and the artifacts kept are collected in order into one set. As in the sequential mode, a filter
+     * failing with a {@link NullPointerException} is skipped: the pass is then done again without it. Other
+     * exceptions propagate.
+     */
+    private static Set<Artifact> filterInOnePass(Set<Artifact> artifacts, List<ArtifactsFilter> filters)
+            throws ArtifactFilterException {
+        Artifact[] array = artifacts.toArray(new Artifact[0]);
+        List<ArtifactsFilter> run = new ArrayList<>(filters);
+        while (true) {
+            Pass pass = new Pass(array, run);
+            IntStream.range(0, (array.length + CHUNK_SIZE - 1) / CHUNK_SIZE)
+                    .parallel()
+                    .forEach(pass::filterChunk);
+
+            int skipped = pass.skipped.get();
+            if (skipped < run.size()) {
+                run.remove(skipped);
+                continue;
+            }
+            Exception failure = pass.failure.get();
+            if (failure instanceof ArtifactFilterException) {
+                throw (ArtifactFilterException) failure;
+            }
+            if (failure != null) {
+                throw (RuntimeException) failure;
+            }
+
+            Set<Artifact> result = new LinkedHashSet<>();
+            for (int i = 0; i < array.length; i++) {
+                if (pass.included[i]) {
+                    result.add(array[i]);
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * A single pass of a run of filters over the artifacts, each chunk of the artifacts being evaluated by one thread.
+     */
+    private static final class Pass {
+        private final Artifact[] artifacts;
+
+        private final List<ArtifactsFilter> filters;
+
+        /**
+         * Whether each artifact is kept, each element being written by the thread evaluating its chunk.
+         */
+        private final boolean[] included;
+
+        /**
+         * The index of the first filter that failed with a NullPointerException, the number of filters if none.
+         */
+        private final AtomicInteger skipped;
+
+        /**
+         * The first exception thrown by a filter, kept as is rather than rethrown from the fork-join pool which may
+         * wrap it.
+         */
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+        private Pass(Artifact[] artifacts, List<ArtifactsFilter> filters) {
+            this.artifacts = artifacts;
+            this.filters = filters;
+            this.included = new boolean[artifacts.length];
+            this.skipped = new AtomicInteger(filters.size());
+        }
+
+        private void filterChunk(int chunk) {
+            int from = chunk * CHUNK_SIZE;
+            int to = Math.min(from + CHUNK_SIZE, artifacts.length);
+            for (int i = from; i < to; i++) {
+                included[i] = isIncluded(artifacts[i]);
+            }
+        }
+
+        private boolean isIncluded(Artifact artifact) {
+            for (int index = 0; index < filters.size(); index++) {
+                try {
+                    if (!filters.get(index).isArtifactIncluded(artifact)) {
+                        return false;
+                    }
+                } catch (NullPointerException e) {
+                    // the filter is skipped, see filter(Set, List)
+                    skipped.accumulateAndGet(index, Math::min);
+                    return false;
+                } catch (ArtifactFilterException | RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static boolean isStateless(ArtifactsFilter filter) {
+        return filter != null && STATELESS_FILTERS.contains(filter.getClass());
+    }
+
     /**
      * <p>Getter for the field <code>filters</code>.</p>
      *
@@ -109,4 +268,27 @@ public class FilterArtifacts {
     public void setFilters(List<ArtifactsFilter> filters) {
         this.filters = filters;
     }
+
+    /**
+     * <p>isPipelined.</p>
+     *
+     * @return {@code true} if the pipelined mode is enabled, {@code false} otherwise.
+     * @since 3.4.1
+     */
+    public boolean isPipelined() {
+        return this.pipelined;
+    }
+
+    /**
+     * Enables the pipelined mode, for large sets of artifacts. The consecutive filters that decide on each artifact
+     * independently, which are the filters of this package, are then applied in a single pass evaluating each
+     * artifact once against all of them, chunks of the set being evaluated in parallel on the common fork-join pool.
+     * The order of the artifacts is preserved, and the result is the same as in the default sequential mode.
+     *
+     * @param pipelined {@code true} to enable the pipelined mode, {@code false} to apply the filters sequentially.
+     * @since 3.4.1
+     */
+    public void setPipelined(boolean pipelined) {
+        this.pipelined = pipelined;
+    }
 }
@@ -18,6 +18,13 @@
  */
 package org.apache.maven.shared.artifact.filter.collection;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
 import org.apache.maven.artifact.Artifact;
 
 /**
@@ -49,4 +56,121 @@ public class GroupIdFilter extends AbstractArtifactFeatureFilter {
     protected boolean compareFeatures(String lhs, String rhs) {
         return lhs.startsWith(rhs);
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The groupIds are matched as prefixes by a single walk of a trie of the groupId segments.
+     */
+    @Override
+    Predicate<String> compileFeatures(List<String> features) {
+        if (!comparesFeaturesAs(GroupIdFilter.class)) {
+            return super.compileFeatures(features);
+        }
+        PrefixTrie trie = new PrefixTrie();
+        for (String feature : features) {
+            trie.add(feature);
+        }
+        return trie::matches;
+    }
+
+    /**
+     * Trie of groupId prefixes, by dot separated segments. A prefix ends with a fragment, the text after its last dot,
+     * that is matched as a prefix of the groupId segment at the same depth: {@code org.apa} is the segment
+     * {@code org} followed by the fragment {@code apa}, and matches {@code org.apache.maven}.
+     *
+     * The trie is built by a single thread and then only read. The threads matching groupIds see it fully built, as it
+     * is published through a volatile field of {@link AbstractArtifactFeatureFilter}.
+     */
+    private static final class PrefixTrie {
+        private static final String[] NONE = new String[0];
+
+        private final Map<String, PrefixTrie> children = new HashMap<>();
+
+        /**
+         * Sorted fragments of the prefixes ending at this node, without the fragments starting with another one.
+         */
+        private String[] fragments = NONE;
+
+        private void add(String prefix) {
+            PrefixTrie node = this;
+            int start = 0;
+            for (int dot = prefix.indexOf('.'); dot >= 0; dot = prefix.indexOf('.', start)) {
+                node = node.children.computeIfAbsent(prefix.substring(start, dot), k -> new PrefixTrie());
+                start = dot + 1;
+            }
+            node.addFragment(prefix.substring(start));
+        }
+
+        private void addFragment(String fragment) {
+            int index = Arrays.binarySearch(fragments, fragment);
+            if (index >= 0 || startsWithFragment(fragment, 0, fragment.length())) {
+                return;
+            }
+            List<String> kept = new ArrayList<>(fragments.length + 1);
+            for (String other : fragments) {
+                if (!other.startsWith(fragment)) {
+                    kept.add(other);
+                }
+            }
+            kept.add(fragment);
+            fragments = kept.toArray(NONE);
+            Arrays.sort(fragments);
+        }
+
+        private boolean matches(String groupId) {
+            PrefixTrie node = this;
+            int start = 0;
+            while (true) {
+                int dot = groupId.indexOf('.', start);
+                int end = dot < 0 ? groupId.length() : dot;
+                if (node.startsWithFragment(groupId, start, end)) {
+                    return true;
+                }
+                if (dot < 0 || node.children.isEmpty()) {
+                    return false;
+                }
+                node = node.children.get(groupId.substring(start, end));
+                if (node == null) {
+                    return false;
+                }
+                start = dot + 1;
+            }
+        }
+
+        /**
+         * Tells whether the segment, from {@code start} to {@code end} of the value, starts with one of the fragments.
+         * As no fragment starts with another one, the candidate is the greatest fragment not greater than the segment.
+         */
+        private boolean startsWithFragment(String value, int start, int end) {
+            int low = 0;
+            int high = fragments.length - 1;
+            int floor = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (compare(fragments[mid], value, start, end) <= 0) {
+                    floor = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            if (floor < 0) {
+                return false;
+            }
+            String fragment = fragments[floor];
+            return fragment.length() <= end - start && value.startsWith(fragment, start);
+        }
+
+        private static int compare(String fragment, String value, int start, int end) {
+            int length = Math.min(fragment.length(), end - start);
+            for (int i = 0; i < length; i++) {
+                int diff = fragment.charAt(i) - value.charAt(start + i);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return fragment.length() - (end - start);
+        }
+    }
 }
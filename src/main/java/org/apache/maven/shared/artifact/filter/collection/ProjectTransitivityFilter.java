@@ -18,10 +18,17 @@
  */
 package org.apache.maven.shared.artifact.filter.collection;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
 
 /**
  * <p>ProjectTransitivityFilter class.</p>
@@ -34,6 +41,19 @@ public class ProjectTransitivityFilter extends AbstractArtifactsFilter {
 
     private final Set<Artifact> directDependencies;
 
+    /**
+     * The direct dependencies by groupId then artifactId, {@code null} if not indexed.
+     */
+    private final Map<String, Map<String, List<Artifact>>> directDependenciesIndex;
+
+    /**
+     * The direct dependency instances, only used along with {@link #directDependenciesIndex}.
+     */
+    private final Set<Artifact> directDependencyInstances;
+
+    /** Whether {@link #filter(Set)} is not overridden, so artifacts can be matched one by one */
+    private final boolean filtersNatively = filtersAs(ProjectTransitivityFilter.class);
+
     /**
      * <p>Constructor for ProjectTransitivityFilter.</p>
      *
@@ -41,8 +61,50 @@ public class ProjectTransitivityFilter extends AbstractArtifactsFilter {
      * @param excludeTransitive {@code true} exclude transitive deps {@code false} otherwise.
      */
     public ProjectTransitivityFilter(Set<Artifact> directDependencies, boolean excludeTransitive) {
+        this(directDependencies, excludeTransitive, false);
+    }
+
+    /**
+     * Creates a filter, optionally indexing the direct dependencies, for projects with many of them.
+     *
+     * When indexed, the direct dependencies are looked up by groupId and artifactId instead of being scanned. The set
+     * is then read once, by this constructor: later changes to the set, or to the groupId or artifactId of its
+     * artifacts, are not reflected by the filter. Only sets of {@link DefaultArtifact}s, which are only equal to
+     * artifacts with the same groupId and artifactId, are indexed; other sets are scanned as without index.
+     *
+     * @param directDependencies set of direct dependencies.
+     * @param excludeTransitive {@code true} exclude transitive deps {@code false} otherwise.
+     * @param indexed {@code true} to index the direct dependencies, {@code false} to scan the set on each lookup
+     * @since 3.4.1
+     */
+    public ProjectTransitivityFilter(Set<Artifact> directDependencies, boolean excludeTransitive, boolean indexed) {
         this.excludeTransitive = excludeTransitive;
         this.directDependencies = directDependencies;
+
+        Map<String, Map<String, List<Artifact>>> index = null;
+        Set<Artifact> instances = null;
+        if (indexed && directDependencies != null && isIndexable(directDependencies)) {
+            index = new HashMap<>();
+            instances = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Artifact dependency : directDependencies) {
+                index.computeIfAbsent(dependency.getGroupId(), k -> new HashMap<>())
+                        .computeIfAbsent(dependency.getArtifactId(), k -> new ArrayList<>(1))
+                        .add(dependency);
+                instances.add(dependency);
+            }
+        }
+        this.directDependenciesIndex = index;
+        this.directDependencyInstances = instances;
+    }
+
+    private static boolean isIndexable(Set<Artifact> directDependencies) {
+        for (Artifact dependency : directDependencies) {
+            // subclasses may redefine equals
+            if (dependency == null || dependency.getClass() != DefaultArtifact.class) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /** {@inheritDoc} */
@@ -63,6 +125,19 @@ public class ProjectTransitivityFilter extends AbstractArtifactsFilter {
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The artifact is looked up in the direct dependencies directly, unless {@link #filter(Set)} is overridden.
+     */
+    @Override
+    public boolean isArtifactIncluded(Artifact artifact) throws ArtifactFilterException {
+        if (!filtersNatively) {
+            return super.isArtifactIncluded(artifact);
+        }
+        return !excludeTransitive || artifactIsADirectDependency(artifact);
+    }
+
     /**
      * Compares the artifact to the list of dependencies to see if it is directly included by this project
      *
@@ -70,6 +145,32 @@ public class ProjectTransitivityFilter extends AbstractArtifactsFilter {
      * @return true if artifact is a direct dependency
      */
     public boolean artifactIsADirectDependency(Artifact artifact) {
+        if (directDependenciesIndex != null) {
+            if (artifact == null) {
+                return false;
+            }
+            // an artifact is equal to itself
+            if (directDependencyInstances.contains(artifact)) {
+                return true;
+            }
+
+            String groupId = artifact.getGroupId();
+            String artifactId = artifact.getArtifactId();
+            if (groupId != null && artifactId != null) {
+                Map<String, List<Artifact>> byArtifactId = directDependenciesIndex.get(groupId);
+                List<Artifact> candidates = byArtifactId != null ? byArtifactId.get(artifactId) : null;
+                if (candidates != null) {
+                    for (Artifact dependency : candidates) {
+                        if (dependency.equals(artifact)) {
+                            return true;
+                        }
+                    }
+                }
+                return false;
+            }
+            // the scan below fails as it did before
+        }
+
         for (Artifact dependency : this.directDependencies) {
             if (dependency.equals(artifact)) {
                 return true;
@@ -38,6 +38,12 @@ public class ScopeFilter extends AbstractArtifactsFilter {
 
     private String excludeScope;
 
+    /** The filter of the artifacts to keep, {@code null} until first used; volatile as filters may be shared */
+    private volatile ArtifactFilter scopeFilter;
+
+    /** Whether {@link #filter(Set)} is not overridden, so artifacts can be matched one by one */
+    private final boolean filtersNatively = filtersAs(ScopeFilter.class);
+
     /**
      * <p>Constructor for ScopeFilter.</p>
      *
@@ -56,78 +62,88 @@ public class ScopeFilter extends AbstractArtifactsFilter {
      * ignored if Includes are used.
      */
     public Set<Artifact> filter(Set<Artifact> artifacts) throws ArtifactFilterException {
-        Set<Artifact> results = artifacts;
+        ArtifactFilter filter = getScopeFilter();
+        if (filter == null) {
+            return artifacts;
+        }
 
-        if (isNotEmpty(includeScope)) {
-            if (!Artifact.SCOPE_COMPILE.equals(includeScope)
-                    && !Artifact.SCOPE_TEST.equals(includeScope)
-                    && !Artifact.SCOPE_PROVIDED.equals(includeScope)
-                    && !Artifact.SCOPE_RUNTIME.equals(includeScope)
-                    && !Artifact.SCOPE_SYSTEM.equals(includeScope)) {
-                throw new ArtifactFilterException("Invalid Scope in includeScope: " + includeScope);
+        Set<Artifact> results = new LinkedHashSet<>();
+        for (Artifact artifact : artifacts) {
+            if (filter.include(artifact)) {
+                results.add(artifact);
             }
+        }
+        return results;
+    }
 
-            results = new LinkedHashSet<>();
-
-            if (Artifact.SCOPE_PROVIDED.equals(includeScope) || Artifact.SCOPE_SYSTEM.equals(includeScope)) {
-                results = includeSingleScope(artifacts, includeScope);
-            } else {
-                ArtifactFilter saf = new ScopeArtifactFilter(includeScope);
+    /**
+     * {@inheritDoc}
+     *
+     * The artifact is matched against the scopes directly, unless {@link #filter(Set)} is overridden.
+     */
+    @Override
+    public boolean isArtifactIncluded(Artifact artifact) throws ArtifactFilterException {
+        if (!filtersNatively) {
+            return super.isArtifactIncluded(artifact);
+        }
+        ArtifactFilter filter = getScopeFilter();
+        return filter == null || filter.include(artifact);
+    }
 
-                for (Artifact artifact : artifacts) {
-                    if (saf.include(artifact)) {
-                        results.add(artifact);
-                    }
-                }
-            }
+    /**
+     * Returns the filter of the artifacts to keep, created once for the current scopes.
+     *
+     * @return the filter, {@code null} if no filtering needs to be performed
+     * @throws ArtifactFilterException if the scopes are invalid
+     */
+    private ArtifactFilter getScopeFilter() throws ArtifactFilterException {
+        if (isNotEmpty(includeScope)) {
+            checkScope(includeScope, "includeScope");
         } else if (isNotEmpty(excludeScope)) {
-            if (!Artifact.SCOPE_COMPILE.equals(excludeScope)
-                    && !Artifact.SCOPE_TEST.equals(excludeScope)
-                    && !Artifact.SCOPE_PROVIDED.equals(excludeScope)
-                    && !Artifact.SCOPE_RUNTIME.equals(excludeScope)
-                    && !Artifact.SCOPE_SYSTEM.equals(excludeScope)) {
-                throw new ArtifactFilterException("Invalid Scope in excludeScope: " + excludeScope);
-            }
-            results = new LinkedHashSet<>();
-            // plexus ScopeArtifactFilter doesn't handle the provided scope so
-            // we
-            // need special handling for it.
+            checkScope(excludeScope, "excludeScope");
             if (Artifact.SCOPE_TEST.equals(excludeScope)) {
                 throw new ArtifactFilterException(" Can't exclude Test scope, this will exclude everything.");
-            } else if (!Artifact.SCOPE_PROVIDED.equals(excludeScope) && !Artifact.SCOPE_SYSTEM.equals(excludeScope)) {
-                ArtifactFilter saf = new ScopeArtifactFilter(excludeScope);
-
-                for (Artifact artifact : artifacts) {
-                    if (!saf.include(artifact)) {
-                        results.add(artifact);
-                    }
-                }
-            } else {
-                results = excludeSingleScope(artifacts, excludeScope);
             }
+        } else {
+            return null;
         }
 
-        return results;
+        ArtifactFilter filter = scopeFilter;
+        if (filter == null) {
+            filter = createScopeFilter();
+            scopeFilter = filter;
+        }
+        return filter;
     }
 
-    private Set<Artifact> includeSingleScope(Set<Artifact> artifacts, String scope) {
-        Set<Artifact> results = new LinkedHashSet<>();
-        for (Artifact artifact : artifacts) {
-            if (scope.equals(artifact.getScope())) {
-                results.add(artifact);
+    private ArtifactFilter createScopeFilter() {
+        if (isNotEmpty(includeScope)) {
+            String scope = includeScope;
+            if (Artifact.SCOPE_PROVIDED.equals(scope) || Artifact.SCOPE_SYSTEM.equals(scope)) {
+                return artifact -> scope.equals(artifact.getScope());
             }
+            return new ScopeArtifactFilter(scope);
         }
-        return results;
+
+        String scope = excludeScope;
+        // plexus ScopeArtifactFilter doesn't handle the provided scope so
+        // we
+        // need special handling for it.
+        if (Artifact.SCOPE_PROVIDED.equals(scope) || Artifact.SCOPE_SYSTEM.equals(scope)) {
+            return artifact -> !scope.equals(artifact.getScope());
+        }
+        ArtifactFilter saf = new ScopeArtifactFilter(scope);
+        return artifact -> !saf.include(artifact);
     }
 
-    private Set<Artifact> excludeSingleScope(Set<Artifact> artifacts, String scope) {
-        Set<Artifact> results = new LinkedHashSet<>();
-        for (Artifact artifact : artifacts) {
-            if (!scope.equals(artifact.getScope())) {
-                results.add(artifact);
-            }
+    private static void checkScope(String scope, String name) throws ArtifactFilterException {
+        if (!Artifact.SCOPE_COMPILE.equals(scope)
+                && !Artifact.SCOPE_TEST.equals(scope)
+                && !Artifact.SCOPE_PROVIDED.equals(scope)
+                && !Artifact.SCOPE_RUNTIME.equals(scope)
+                && !Artifact.SCOPE_SYSTEM.equals(scope)) {
+            throw new ArtifactFilterException("Invalid Scope in " + name + ": " + scope);
         }
-        return results;
     }
 
     /**
@@ -147,6 +163,7 @@ public class ScopeFilter extends AbstractArtifactsFilter {
      */
     public void setIncludeScope(String scope) {
         this.includeScope = scope;
+        this.scopeFilter = null;
     }
 
     /**
@@ -166,5 +183,6 @@ public class ScopeFilter extends AbstractArtifactsFilter {
      */
     public void setExcludeScope(String scope) {
         this.excludeScope = scope;
+        this.scopeFilter = null;
     }
 }
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter.internal;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A bounded, thread-safe memoizing cache. Once the cache grows beyond its maximum size, entries that were not
+ * accessed since the previous sweep are evicted (second chance, or "clock", eviction), which approximates LRU
+ * without any bookkeeping on the read path beyond a flag.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class BoundedCache<K, V> {
+    private final int maxSize;
+
+    private final ConcurrentHashMap<K, Entry<V>> entries;
+
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize the maximum number of entries, must be positive
+     */
+    public BoundedCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.entries = new ConcurrentHashMap<>(Math.min(maxSize, 256));
+    }
+
+    /**
+     * Returns the value cached for the key, computing it with the loader if absent. Concurrent callers for the same
+     * absent key are coalesced, the loader is invoked once. A {@code null} value is returned but not cached.
+     *
+     * @param key the key, must not be {@code null}
+     * @param loader the function computing the value of an absent key
+     * @return the (possibly cached) value
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        requireNonNull(key, "key");
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            hits.increment();
+            entry.referenced = true;
+            return entry.value;
+        }
+
+        misses.increment();
+        entry = entries.computeIfAbsent(key, k -> {
+            V value = loader.apply(k);
+            return value != null ? new Entry<>(value) : null;
+        });
+        if (entry == null) {
+            return null;
+        }
+        if (entries.size() > maxSize) {
+            evict();
+        }
+        return entry.value;
+    }
+
+    /**
+     * Returns the value cached for the key, without computing it.
+     *
+     * @param key the key, must not be {@code null}
+     * @return the cached value or {@code null}
+     */
+    public V getIfPresent(K key) {
+        Entry<V> entry = entries.get(requireNonNull(key, "key"));
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        entry.referenced = true;
+        return entry.value;
+    }
+
+    /**
+     * Stores a value, replacing any cached one.
+     *
+     * @param key the key, must not be {@code null}
+     * @param value the value, must not be {@code null}
+     */
+    public void put(K key, V value) {
+        entries.put(requireNonNull(key, "key"), new Entry<>(requireNonNull(value, "value")));
+        if (entries.size() > maxSize) {
+            evict();
+        }
+    }
+
+    /**
+     * Removes the entry of the key, if it is still cached with the given value.
+     *
+     * @param key the key, must not be {@code null}
+     * @param value the value expected to be cached
+     * @return {@code true} if the entry was removed
+     */
+    public boolean remove(K key, V value) {
+        Entry<V> entry = entries.get(requireNonNull(key, "key"));
+        return entry != null && entry.value == value && entries.remove(key, entry);
+    }
+
+    /**
+     * @return the number of cached entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of lookups answered from the cache
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups not answered from the cache
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Removes all entries, the hit and miss counts are retained.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Sweeps the entries until the cache is back to three quarters of its maximum size, evicting the entries that
+     * were not referenced since the previous sweep and clearing the flag of the others. Only one thread sweeps at a
+     * time, the others carry on, so the cache may temporarily exceed its maximum size.
+     */
+    private void evict() {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int target = maxSize - maxSize / 4;
+            // entries referenced again while sweeping get a second chance only on the first two passes
+            for (int pass = 0; entries.size() > target; pass++) {
+                Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+                while (iterator.hasNext() && entries.size() > target) {
+                    Entry<V> entry = iterator.next().getValue();
+                    if (entry.referenced && pass < 2) {
+                        entry.referenced = false;
+                    } else {
+                        iterator.remove();
+                    }
+                }
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+
+        private volatile boolean referenced;
+
+        private Entry(V value) {
+            this.value = value;
+        }
+    }
+}
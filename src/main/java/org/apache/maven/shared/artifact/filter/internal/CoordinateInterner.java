@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter.internal;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Pool of artifact coordinate strings, shared by the filters and the caches built on top of them. The well-known
+ * types, scopes and classifiers, such as {@code jar}, {@code compile} or {@code sources}, have a small int id and a
+ * canonical instance that is always retained, so that they can be compared by id and parsed without allocating. Other
+ * values are pooled weakly, so that caches holding many coordinates share a single instance of each without keeping
+ * it alive.
+ */
+public final class CoordinateInterner {
+    /**
+     * The id of the values that are not well-known, including {@code null}.
+     */
+    public static final int UNKNOWN = 0;
+
+    private static final String[] WELL_KNOWN = {
+        null,
+        // types
+        "jar",
+        "pom",
+        "war",
+        "ear",
+        "ejb",
+        "rar",
+        "zip",
+        "test-jar",
+        "maven-plugin",
+        "java-source",
+        "javadoc",
+        // scopes
+        "compile",
+        "runtime",
+        "test",
+        "provided",
+        "system",
+        "import",
+        // classifiers
+        "tests",
+        "sources",
+        "test-sources",
+        "client"
+    };
+
+    /**
+     * The ids of the well-known values.
+     */
+    private static final Map<String, Integer> IDS = new HashMap<>();
+
+    /**
+     * The well-known values, by length then id.
+     */
+    private static final String[][] WELL_KNOWN_BY_LENGTH;
+
+    private static final int STRIPES = 16;
+
+    /**
+     * The pools of the other values, striped by hash so that concurrent threads rarely contend.
+     */
+    private static final Map<String, WeakReference<String>>[] POOLS = newPools();
+
+    static {
+        int maxLength = 0;
+        for (int id = UNKNOWN + 1; id < WELL_KNOWN.length; id++) {
+            IDS.put(WELL_KNOWN[id], id);
+            maxLength = Math.max(maxLength, WELL_KNOWN[id].length());
+        }
+        WELL_KNOWN_BY_LENGTH = new String[maxLength + 1][];
+        for (int length = 0; length <= maxLength; length++) {
+            int count = 0;
+            for (int id = UNKNOWN + 1; id < WELL_KNOWN.length; id++) {
+                if (WELL_KNOWN[id].length() == length) {
+                    count++;
+                }
+            }
+            WELL_KNOWN_BY_LENGTH[length] = new String[count];
+            count = 0;
+            for (int id = UNKNOWN + 1; id < WELL_KNOWN.length; id++) {
+                if (WELL_KNOWN[id].length() == length) {
+                    WELL_KNOWN_BY_LENGTH[length][count++] = WELL_KNOWN[id];
+                }
+            }
+        }
+    }
+
+    private CoordinateInterner() {}
+
+    /**
+     * Returns the id of the value.
+     *
+     * @param value the coordinate value, may be {@code null}
+     * @return the id of the well-known value, between {@code 1} and {@link #size()} exclusive, or {@link #UNKNOWN}
+     */
+    public static int id(String value) {
+        if (value == null) {
+            return UNKNOWN;
+        }
+        Integer id = IDS.get(value);
+        return id != null ? id : UNKNOWN;
+    }
+
+    /**
+     * Returns the well-known value of the id.
+     *
+     * @param id the id
+     * @return the canonical instance of the value, {@code null} for {@link #UNKNOWN}
+     * @throws IllegalArgumentException if the id is not one of a well-known value
+     */
+    public static String valueOf(int id) {
+        if (id < UNKNOWN || id >= WELL_KNOWN.length) {
+            throw new IllegalArgumentException("unknown id: " + id);
+        }
+        return WELL_KNOWN[id];
+    }
+
+    /**
+     * @return the number of ids, including {@link #UNKNOWN}, which is less than 64 so ids fit in a {@code long} mask
+     */
+    public static int size() {
+        return WELL_KNOWN.length;
+    }
+
+    /**
+     * Returns the pooled instance equal to the value.
+     *
+     * @param value the coordinate value, may be {@code null}
+     * @return the canonical instance of a well-known value, else the pooled instance equal to the value
+     */
+    public static String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        int id = id(value);
+        if (id != UNKNOWN) {
+            return WELL_KNOWN[id];
+        }
+        Map<String, WeakReference<String>> pool = POOLS[value.hashCode() & (STRIPES - 1)];
+        synchronized (pool) {
+            WeakReference<String> reference = pool.get(value);
+            String pooled = reference != null ? reference.get() : null;
+            if (pooled == null) {
+                pool.put(value, new WeakReference<>(value));
+                pooled = value;
+            }
+            return pooled;
+        }
+    }
+
+    /**
+     * Returns the pooled instance equal to a region of the source, only extracting the region if it is not a
+     * well-known value.
+     *
+     * @param source the string containing the coordinate, must not be {@code null}
+     * @param start the start offset of the coordinate, inclusive
+     * @param end the end offset of the coordinate, exclusive
+     * @return the pooled instance equal to the region
+     */
+    public static String intern(String source, int start, int end) {
+        int length = end - start;
+        if (length < WELL_KNOWN_BY_LENGTH.length) {
+            for (String value : WELL_KNOWN_BY_LENGTH[length]) {
+                if (source.regionMatches(start, value, 0, length)) {
+                    return value;
+                }
+            }
+        }
+        return intern(source.substring(start, end));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Map<String, WeakReference<String>>[] newPools() {
+        Map<String, WeakReference<String>>[] pools = new Map[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            pools[i] = new WeakHashMap<>();
+        }
+        return pools;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter.internal;
+
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Flyweight view of an element of {@link org.apache.maven.artifact.Artifact#getDependencyTrail()}, which is either
+ * {@code G:A:T:V} or, if the artifact has a classifier, {@code G:A:T:C:V}. Only the offsets of the segments are
+ * computed when parsing, a coordinate is extracted and interned on first access and then kept.
+ */
+public final class DependencyTrailItem {
+    private final String trailItem;
+
+    /**
+     * End offset (exclusive) of each segment, the next segment starts after the colon at that offset.
+     */
+    private final int[] ends;
+
+    /**
+     * Extracted segments, racily initialized: strings are immutable so a thread seeing no value simply extracts it
+     * again.
+     */
+    private final String[] segments;
+
+    private DependencyTrailItem(String trailItem, int[] ends) {
+        this.trailItem = trailItem;
+        this.ends = ends;
+        this.segments = new String[ends.length];
+    }
+
+    /**
+     * Parses an element of a dependency trail, strictly 4 or 5 segments only.
+     *
+     * @param trailItem the element of the dependency trail, must not be {@code null}
+     * @return the parsed element
+     * @throws IllegalArgumentException if the element has neither 4 nor 5 segments
+     */
+    public static DependencyTrailItem parse(String trailItem) {
+        requireNonNull(trailItem);
+        // trailing empty segments are ignored, as String.split(":") does
+        int end = trailItem.length();
+        while (end > 0 && trailItem.charAt(end - 1) == ':') {
+            end--;
+        }
+        int[] ends = new int[5];
+        int segments = 0;
+        for (int i = 0; i < end && segments < ends.length; i++) {
+            if (trailItem.charAt(i) == ':') {
+                ends[segments++] = i;
+            }
+        }
+        if (segments < ends.length) {
+            ends[segments++] = end;
+        } else {
+            // a sixth segment
+            segments++;
+        }
+        if (segments != 4 && segments != 5) {
+            throw new IllegalArgumentException("Bad dep trail string: " + trailItem);
+        }
+        return new DependencyTrailItem(trailItem, segments == 5 ? ends : Arrays.copyOf(ends, segments));
+    }
+
+    /**
+     * @return the parsed element of the dependency trail
+     */
+    public String getTrailItem() {
+        return trailItem;
+    }
+
+    public String getGroupId() {
+        return getSegment(0);
+    }
+
+    public String getArtifactId() {
+        return getSegment(1);
+    }
+
+    public String getType() {
+        return getSegment(2);
+    }
+
+    /**
+     * @return the classifier, {@code null} if the element has only 4 segments
+     */
+    public String getClassifier() {
+        return ends.length == 5 ? getSegment(3) : null;
+    }
+
+    public String getVersion() {
+        return getSegment(ends.length - 1);
+    }
+
+    private String getSegment(int segment) {
+        String value = segments[segment];
+        if (value == null) {
+            int start = segment == 0 ? 0 : ends[segment - 1] + 1;
+            value = CoordinateInterner.intern(trailItem, start, ends[segment]);
+            segments[segment] = value;
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return trailItem;
+    }
+}
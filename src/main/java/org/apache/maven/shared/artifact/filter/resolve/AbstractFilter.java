@@ -38,7 +38,8 @@ public abstract class AbstractFilter implements TransformableFilter {
      * <p>accept.</p>
      *
      * @param node {@link org.apache.maven.shared.artifact.filter.resolve.Node}
-     * @param parents {@link org.apache.maven.shared.artifact.filter.resolve.Node}s.
+     * @param parents {@link org.apache.maven.shared.artifact.filter.resolve.Node}s, from the immediate parent to the
+     *            root, as a read-only view that is only valid during the call.
      * @return {@code true} / {@code false}
      */
     public abstract boolean accept(Node node, List<Node> parents);
@@ -20,6 +20,11 @@ package org.apache.maven.shared.artifact.filter.resolve;
 
 /**
  * Represents a node of a dependency graph
+ * <p>
+ * The coordinates of the dependency can be read one by one: the nodes provided by this library read them straight
+ * from the object they adapt, and only build the {@link #getDependency() dependency} when it is asked for. They then
+ * keep it, so the dependency they return is shared by the callers and must not be modified.
+ * </p>
  *
  * @author Robert Scholte
  * @since 3.0
@@ -31,4 +36,81 @@ public interface Node {
      * @return {@link org.apache.maven.model.Dependency}
      */
     org.apache.maven.model.Dependency getDependency();
+
+    /**
+     * Returns the groupId of the dependency.
+     *
+     * @return the groupId, {@code null} if there is no dependency
+     * @since 3.4.1
+     */
+    default String getGroupId() {
+        org.apache.maven.model.Dependency dependency = getDependency();
+        return dependency != null ? dependency.getGroupId() : null;
+    }
+
+    /**
+     * Returns the artifactId of the dependency.
+     *
+     * @return the artifactId, {@code null} if there is no dependency
+     * @since 3.4.1
+     */
+    default String getArtifactId() {
+        org.apache.maven.model.Dependency dependency = getDependency();
+        return dependency != null ? dependency.getArtifactId() : null;
+    }
+
+    /**
+     * Returns the version of the dependency.
+     *
+     * @return the version, {@code null} if there is no dependency
+     * @since 3.4.1
+     */
+    default String getVersion() {
+        org.apache.maven.model.Dependency dependency = getDependency();
+        return dependency != null ? dependency.getVersion() : null;
+    }
+
+    /**
+     * Returns the classifier of the dependency.
+     *
+     * @return the classifier, {@code null} if there is no dependency
+     * @since 3.4.1
+     */
+    default String getClassifier() {
+        org.apache.maven.model.Dependency dependency = getDependency();
+        return dependency != null ? dependency.getClassifier() : null;
+    }
+
+    /**
+     * Returns the type of the dependency.
+     *
+     * @return the type, {@code null} if there is no dependency
+     * @since 3.4.1
+     */
+    default String getType() {
+        org.apache.maven.model.Dependency dependency = getDependency();
+        return dependency != null ? dependency.getType() : null;
+    }
+
+    /**
+     * Returns the scope of the dependency.
+     *
+     * @return the scope, {@code null} if there is no dependency
+     * @since 3.4.1
+     */
+    default String getScope() {
+        org.apache.maven.model.Dependency dependency = getDependency();
+        return dependency != null ? dependency.getScope() : null;
+    }
+
+    /**
+     * Tells whether the dependency is optional.
+     *
+     * @return whether the dependency is optional, {@code false} if there is no dependency
+     * @since 3.4.1
+     */
+    default boolean isOptional() {
+        org.apache.maven.model.Dependency dependency = getDependency();
+        return dependency != null && dependency.isOptional();
+    }
 }
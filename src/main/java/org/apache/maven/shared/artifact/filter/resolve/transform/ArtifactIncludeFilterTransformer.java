@@ -20,7 +20,9 @@ package org.apache.maven.shared.artifact.filter.resolve.transform;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
+import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.resolver.filter.AndArtifactFilter;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
 import org.apache.maven.artifact.resolver.filter.ExcludesArtifactFilter;
@@ -30,6 +32,7 @@ import org.apache.maven.shared.artifact.filter.resolve.AbstractFilter;
 import org.apache.maven.shared.artifact.filter.resolve.AndFilter;
 import org.apache.maven.shared.artifact.filter.resolve.ExclusionsFilter;
 import org.apache.maven.shared.artifact.filter.resolve.FilterTransformer;
+import org.apache.maven.shared.artifact.filter.resolve.Node;
 import org.apache.maven.shared.artifact.filter.resolve.OrFilter;
 import org.apache.maven.shared.artifact.filter.resolve.PatternExclusionsFilter;
 import org.apache.maven.shared.artifact.filter.resolve.PatternInclusionsFilter;
@@ -155,9 +158,61 @@ public class ArtifactIncludeFilterTransformer implements FilterTransformer<Artif
         return new PatternIncludesArtifactFilter(patternInclusionsFilter.getIncludes(), actTransitivelyPattern);
     }
 
-    /** {@inheritDoc} */
+    /**
+     * {@inheritDoc}
+     *
+     * The parents are passed as a lazy view over the dependency trail of the artifact, from the immediate parent to the
+     * root. Artifacts without dependency trail have no parents.
+     */
     @Override
     public ArtifactFilter transform(final AbstractFilter filter) {
-        return artifact -> filter.accept(new ArtifactIncludeNode(artifact), null);
+        return new AbstractFilterAdapter(filter);
+    }
+
+    /**
+     * Adapter of an AbstractFilter, reusing the parents adapted for the previous artifact of the same thread.
+     */
+    private static final class AbstractFilterAdapter implements ArtifactFilter {
+        private final AbstractFilter filter;
+
+        private final ParentNodes.LastParents<TrailParentNodes> lastParents = new ParentNodes.LastParents<>();
+
+        private AbstractFilterAdapter(AbstractFilter filter) {
+            this.filter = filter;
+        }
+
+        @Override
+        public boolean include(Artifact artifact) {
+            TrailParentNodes parentNodes = new TrailParentNodes(artifact.getDependencyTrail(), lastParents.get());
+            lastParents.set(parentNodes);
+            return filter.accept(new ArtifactIncludeNode(artifact), parentNodes);
+        }
+    }
+
+    /**
+     * The parents of an artifact from its dependency trail, which starts with the root and ends with the artifact.
+     */
+    private static final class TrailParentNodes extends ParentNodes<String> {
+        private final List<String> trail;
+
+        private TrailParentNodes(List<String> trail, TrailParentNodes previous) {
+            super(trail != null && !trail.isEmpty() ? trail.size() - 1 : 0, previous);
+            this.trail = trail;
+        }
+
+        @Override
+        String getSource(int index) {
+            return trail.get(trail.size() - 2 - index);
+        }
+
+        @Override
+        boolean isAdapted(Node node, String source) {
+            return ((ArtifactTrailNode) node).getTrailItem().equals(source);
+        }
+
+        @Override
+        Node adapt(String source) {
+            return new ArtifactTrailNode(source);
+        }
     }
 }
@@ -30,6 +30,11 @@ import org.apache.maven.shared.artifact.filter.resolve.Node;
 class ArtifactIncludeNode implements Node {
     private final Artifact artifact;
 
+    /**
+     * The Maven dependency, built on first request.
+     */
+    private volatile Dependency mavenDependency;
+
     ArtifactIncludeNode(Artifact artifact) {
         this.artifact = artifact;
     }
@@ -39,10 +44,56 @@ class ArtifactIncludeNode implements Node {
      *
      * Note: an artifact doesn't contain exclusion information, so it won't be available here.
      * When required switch to filtering based on Aether.
+     * The dependency is built on first request, from the artifact as it is then, and shared by the callers, it must
+     * not be modified.
      * @see EclipseAetherNode
      */
     @Override
     public Dependency getDependency() {
+        Dependency dependency = mavenDependency;
+        if (dependency == null) {
+            dependency = toMavenDependency(artifact);
+            mavenDependency = dependency;
+        }
+        return dependency;
+    }
+
+    @Override
+    public String getGroupId() {
+        return artifact.getGroupId();
+    }
+
+    @Override
+    public String getArtifactId() {
+        return artifact.getArtifactId();
+    }
+
+    @Override
+    public String getVersion() {
+        return artifact.getVersion();
+    }
+
+    @Override
+    public String getClassifier() {
+        return artifact.getClassifier();
+    }
+
+    @Override
+    public String getType() {
+        return artifact.getType();
+    }
+
+    @Override
+    public String getScope() {
+        return artifact.getScope();
+    }
+
+    @Override
+    public boolean isOptional() {
+        return artifact.isOptional();
+    }
+
+    private static Dependency toMavenDependency(Artifact artifact) {
         Dependency mavenDependency = new Dependency();
         mavenDependency.setGroupId(artifact.getGroupId());
         mavenDependency.setArtifactId(artifact.getArtifactId());
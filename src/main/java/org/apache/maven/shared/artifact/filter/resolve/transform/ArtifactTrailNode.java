@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter.resolve.transform;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.shared.artifact.filter.internal.DependencyTrailItem;
+import org.apache.maven.shared.artifact.filter.resolve.Node;
+
+/**
+ * Adapter of an element of {@link org.apache.maven.artifact.Artifact#getDependencyTrail()} for common Node. The
+ * element is either {@code G:A:T:V} or, if the artifact has a classifier, {@code G:A:T:C:V}; it is parsed on first
+ * access.
+ *
+ * Note: a dependency trail contains neither the scope, the optional flag nor the exclusions of the artifacts.
+ *
+ * @see DependencyTrailItem
+ */
+class ArtifactTrailNode implements Node {
+    private final String trailItem;
+
+    /**
+     * The parsed element, {@code null} until parsed.
+     */
+    private volatile DependencyTrailItem parsed;
+
+    /**
+     * The Maven dependency, built on first request.
+     */
+    private volatile Dependency mavenDependency;
+
+    ArtifactTrailNode(String trailItem) {
+        this.trailItem = trailItem;
+    }
+
+    String getTrailItem() {
+        return trailItem;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The dependency is built on first request and then shared by the callers, it must not be modified.
+     */
+    @Override
+    public Dependency getDependency() {
+        Dependency dependency = mavenDependency;
+        if (dependency == null) {
+            dependency = new Dependency();
+            dependency.setGroupId(getGroupId());
+            dependency.setArtifactId(getArtifactId());
+            dependency.setVersion(getVersion());
+            dependency.setClassifier(getClassifier());
+            dependency.setType(getType());
+            mavenDependency = dependency;
+        }
+        return dependency;
+    }
+
+    @Override
+    public String getGroupId() {
+        return parse().getGroupId();
+    }
+
+    @Override
+    public String getArtifactId() {
+        return parse().getArtifactId();
+    }
+
+    @Override
+    public String getVersion() {
+        return parse().getVersion();
+    }
+
+    @Override
+    public String getClassifier() {
+        return parse().getClassifier();
+    }
+
+    @Override
+    public String getType() {
+        return parse().getType();
+    }
+
+    @Override
+    public String getScope() {
+        return null;
+    }
+
+    @Override
+    public boolean isOptional() {
+        return false;
+    }
+
+    private DependencyTrailItem parse() {
+        DependencyTrailItem item = parsed;
+        if (item == null) {
+            item = DependencyTrailItem.parse(trailItem);
+            parsed = item;
+        }
+        return item;
+    }
+}
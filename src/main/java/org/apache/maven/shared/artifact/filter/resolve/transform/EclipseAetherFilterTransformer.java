@@ -21,19 +21,25 @@ package org.apache.maven.shared.artifact.filter.resolve.transform;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
+import org.apache.maven.shared.artifact.filter.PatternExcludesArtifactFilter;
+import org.apache.maven.shared.artifact.filter.PatternIncludesArtifactFilter;
 import org.apache.maven.shared.artifact.filter.resolve.AbstractFilter;
 import org.apache.maven.shared.artifact.filter.resolve.AndFilter;
 import org.apache.maven.shared.artifact.filter.resolve.ExclusionsFilter;
 import org.apache.maven.shared.artifact.filter.resolve.FilterTransformer;
+import org.apache.maven.shared.artifact.filter.resolve.Node;
 import org.apache.maven.shared.artifact.filter.resolve.OrFilter;
 import org.apache.maven.shared.artifact.filter.resolve.PatternExclusionsFilter;
 import org.apache.maven.shared.artifact.filter.resolve.PatternInclusionsFilter;
 import org.apache.maven.shared.artifact.filter.resolve.ScopeFilter;
 import org.apache.maven.shared.artifact.filter.resolve.TransformableFilter;
 import org.eclipse.aether.graph.DependencyFilter;
+import org.eclipse.aether.graph.DependencyNode;
 import org.eclipse.aether.util.filter.AndDependencyFilter;
 import org.eclipse.aether.util.filter.ExclusionsDependencyFilter;
 import org.eclipse.aether.util.filter.OrDependencyFilter;
@@ -54,7 +60,27 @@ public class EclipseAetherFilterTransformer implements FilterTransformer<Depende
      * When using as regular expression, group(1) + group(3) will be the coordinate,
      * group(2) will be the classifier.
      */
-    private static final String GAE_C_V = "(.*:.*:.*):(.+)(:.*)";
+    private static final Pattern GAE_C_V = Pattern.compile("(.*:.*:.*):(.+)(:.*)");
+
+    /**
+     * Characters having a meaning in a regular expression, a classifier without any is matched literally.
+     */
+    private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+
+    private boolean compiledPatterns = false;
+
+    /**
+     * Used by {@link #transform(PatternExclusionsFilter)} and {@link #transform(PatternInclusionsFilter)}. Determines
+     * whether the patterns are matched by the pattern engine of {@link PatternIncludesArtifactFilter}, with the same
+     * grammar as the Maven artifact filters (negative patterns, classifiers and version ranges included), rather than
+     * by the pattern filters of Aether. Default is {@code false}
+     *
+     * @param compiledPatterns set to {@code true} to transform pattern filters to compiled pattern filters
+     * @since 3.4.1
+     */
+    public void setCompiledPatterns(boolean compiledPatterns) {
+        this.compiledPatterns = compiledPatterns;
+    }
 
     /** {@inheritDoc} */
     @Override
@@ -91,18 +117,25 @@ public class EclipseAetherFilterTransformer implements FilterTransformer<Depende
     /** {@inheritDoc} */
     @Override
     public DependencyFilter transform(PatternExclusionsFilter filter) {
+        if (compiledPatterns) {
+            return new PatternDependencyFilter(new PatternExcludesArtifactFilter(filter.getExcludes()), false);
+        }
         return new PatternExclusionsDependencyFilter(filter.getExcludes());
     }
 
     /** {@inheritDoc} */
     @Override
     public DependencyFilter transform(PatternInclusionsFilter filter) {
+        if (compiledPatterns) {
+            return new PatternDependencyFilter(new PatternIncludesArtifactFilter(filter.getIncludes()), true);
+        }
+
         // if any include contains a classifier:
         // split all includes and make it an or-filter for every include
         // for the classifier, add an and-filter with a classifierfilter and patterninclusionfilter
 
         for (String include : filter.getIncludes()) {
-            if (include.matches(GAE_C_V)) {
+            if (GAE_C_V.matcher(include).matches()) {
                 return newAdvancedPatternInclusionFilter(filter.getIncludes());
             }
         }
@@ -110,28 +143,73 @@ public class EclipseAetherFilterTransformer implements FilterTransformer<Depende
         return new PatternInclusionsDependencyFilter(filter.getIncludes());
     }
 
-    /** {@inheritDoc} */
+    /**
+     * {@inheritDoc}
+     *
+     * The parents are passed as a lazy view over the parents of the Aether node, from the immediate parent to the root.
+     */
     @Override
     public DependencyFilter transform(final AbstractFilter filter) {
-        return (node, parents) -> {
+        return new AbstractFilterAdapter(filter);
+    }
+
+    /**
+     * Adapter of an AbstractFilter, reusing the parents adapted for the previous node of the same thread.
+     */
+    private static final class AbstractFilterAdapter implements DependencyFilter {
+        private final AbstractFilter filter;
+
+        private final ParentNodes.LastParents<EclipseAetherParentNodes> lastParents = new ParentNodes.LastParents<>();
+
+        private AbstractFilterAdapter(AbstractFilter filter) {
+            this.filter = filter;
+        }
+
+        @Override
+        public boolean accept(DependencyNode node, List<DependencyNode> parents) {
             requireNonNull(node, "node cannot be null");
             requireNonNull(parents, "parents cannot be null");
 
-            return filter.accept(new EclipseAetherNode(node), null);
-        };
+            EclipseAetherParentNodes parentNodes = new EclipseAetherParentNodes(parents, lastParents.get());
+            lastParents.set(parentNodes);
+            return filter.accept(new EclipseAetherNode(node), parentNodes);
+        }
+    }
+
+    private static final class EclipseAetherParentNodes extends ParentNodes<DependencyNode> {
+        private final List<DependencyNode> parents;
+
+        private EclipseAetherParentNodes(List<DependencyNode> parents, EclipseAetherParentNodes previous) {
+            super(parents.size(), previous);
+            this.parents = parents;
+        }
+
+        @Override
+        DependencyNode getSource(int index) {
+            return parents.get(index);
+        }
+
+        @Override
+        boolean isAdapted(Node node, DependencyNode source) {
+            return ((EclipseAetherNode) node).getDependencyNode() == source;
+        }
+
+        @Override
+        Node adapt(DependencyNode source) {
+            return new EclipseAetherNode(source);
+        }
     }
 
     private DependencyFilter newAdvancedPatternInclusionFilter(Collection<String> includes) {
         List<DependencyFilter> filters = new ArrayList<>(includes.size());
 
-        Pattern pattern = Pattern.compile(GAE_C_V);
         for (String include : includes) {
-            Matcher matcher = pattern.matcher(include);
+            Matcher matcher = GAE_C_V.matcher(include);
             if (matcher.matches()) {
                 DependencyFilter patternFilter =
                         new PatternInclusionsDependencyFilter(matcher.group(1) + matcher.group(3));
 
-                final String classifier = matcher.group(2);
+                final Predicate<String> classifierMatcher = compileClassifier(matcher.group(2));
 
                 filters.add(new AndDependencyFilter(patternFilter, (node, parents) -> {
                     requireNonNull(node, "node cannot be null");
@@ -139,11 +217,7 @@ public class EclipseAetherFilterTransformer implements FilterTransformer<Depende
 
                     String nodeClassifier = node.getArtifact().getClassifier();
 
-                    if (nodeClassifier == null) {
-                        return false;
-                    } else {
-                        return "*".equals(classifier) || nodeClassifier.matches(classifier);
-                    }
+                    return nodeClassifier != null && classifierMatcher.test(nodeClassifier);
                 }));
             } else {
                 filters.add(new PatternInclusionsDependencyFilter(include));
@@ -151,4 +225,34 @@ public class EclipseAetherFilterTransformer implements FilterTransformer<Depende
         }
         return new OrDependencyFilter(filters);
     }
+
+    /**
+     * Compiles the classifier of an include, a regular expression or {@code *}, into a matcher of node classifiers.
+     * The expression is compiled once, and not at all if it is a plain classifier.
+     */
+    private static Predicate<String> compileClassifier(String classifier) {
+        if ("*".equals(classifier)) {
+            return nodeClassifier -> true;
+        }
+        if (isLiteral(classifier)) {
+            return classifier::equals;
+        }
+        Pattern pattern;
+        try {
+            pattern = Pattern.compile(classifier);
+        } catch (PatternSyntaxException e) {
+            // an invalid expression only fails once a node with a classifier is matched
+            return nodeClassifier -> nodeClassifier.matches(classifier);
+        }
+        return nodeClassifier -> pattern.matcher(nodeClassifier).matches();
+    }
+
+    private static boolean isLiteral(String classifier) {
+        for (int i = 0; i < classifier.length(); i++) {
+            if (REGEX_METACHARACTERS.indexOf(classifier.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
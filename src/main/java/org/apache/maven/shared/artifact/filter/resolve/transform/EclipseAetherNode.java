@@ -37,15 +37,79 @@ class EclipseAetherNode implements Node {
 
     private final DependencyNode node;
 
+    /**
+     * The Maven dependency along with the Aether dependency it was built from, {@code null} until first requested.
+     */
+    private volatile MavenDependency mavenDependency;
+
     EclipseAetherNode(DependencyNode node) {
         this.node = node;
     }
 
-    /** {@inheritDoc} */
+    DependencyNode getDependencyNode() {
+        return node;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The dependency is built on first request and then shared by the callers, it must not be modified. It is built
+     * again once the node has a new dependency, for instance after {@link DependencyNode#setScope(String)}.
+     */
     @Override
     public org.apache.maven.model.Dependency getDependency() {
         Dependency nodeDependency = node.getDependency();
+        MavenDependency built = mavenDependency;
+        if (built == null || built.source != nodeDependency) {
+            built = new MavenDependency(nodeDependency, toMavenDependency(nodeDependency));
+            mavenDependency = built;
+        }
+        return built.dependency;
+    }
+
+    @Override
+    public String getGroupId() {
+        Dependency nodeDependency = node.getDependency();
+        return nodeDependency != null ? nodeDependency.getArtifact().getGroupId() : null;
+    }
+
+    @Override
+    public String getArtifactId() {
+        Dependency nodeDependency = node.getDependency();
+        return nodeDependency != null ? nodeDependency.getArtifact().getArtifactId() : null;
+    }
+
+    @Override
+    public String getVersion() {
+        Dependency nodeDependency = node.getDependency();
+        return nodeDependency != null ? nodeDependency.getArtifact().getVersion() : null;
+    }
+
+    @Override
+    public String getClassifier() {
+        Dependency nodeDependency = node.getDependency();
+        return nodeDependency != null ? nodeDependency.getArtifact().getClassifier() : null;
+    }
+
+    @Override
+    public String getType() {
+        Dependency nodeDependency = node.getDependency();
+        return nodeDependency != null ? nodeDependency.getArtifact().getProperty(ArtifactProperties.TYPE, null) : null;
+    }
+
+    @Override
+    public String getScope() {
+        Dependency nodeDependency = node.getDependency();
+        return nodeDependency != null ? nodeDependency.getScope() : null;
+    }
 
+    @Override
+    public boolean isOptional() {
+        Dependency nodeDependency = node.getDependency();
+        return nodeDependency != null && nodeDependency.isOptional();
+    }
+
+    private static org.apache.maven.model.Dependency toMavenDependency(Dependency nodeDependency) {
         if (nodeDependency == null) {
             return null;
         }
@@ -68,6 +132,20 @@ class EclipseAetherNode implements Node {
         return mavenDependency;
     }
 
+    /**
+     * A Maven dependency and the immutable Aether dependency it was built from, published together.
+     */
+    private static final class MavenDependency {
+        private final Dependency source;
+
+        private final org.apache.maven.model.Dependency dependency;
+
+        private MavenDependency(Dependency source, org.apache.maven.model.Dependency dependency) {
+            this.source = source;
+            this.dependency = dependency;
+        }
+    }
+
     private static List<org.apache.maven.model.Exclusion> getExclusions(Dependency nodeDependency) {
         List<org.apache.maven.model.Exclusion> mavenExclusions =
                 new ArrayList<>(nodeDependency.getExclusions().size());
@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter.resolve.transform;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.apache.maven.shared.artifact.filter.resolve.AbstractFilter;
+import org.apache.maven.shared.artifact.filter.resolve.AndFilter;
+import org.apache.maven.shared.artifact.filter.resolve.ExclusionsFilter;
+import org.apache.maven.shared.artifact.filter.resolve.FilterTransformer;
+import org.apache.maven.shared.artifact.filter.resolve.OrFilter;
+import org.apache.maven.shared.artifact.filter.resolve.PatternExclusionsFilter;
+import org.apache.maven.shared.artifact.filter.resolve.PatternInclusionsFilter;
+import org.apache.maven.shared.artifact.filter.resolve.ScopeFilter;
+import org.apache.maven.shared.artifact.filter.resolve.TransformableFilter;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * FilterTransformer decorator memoizing the transformations of its delegate, so that a filter transformed again, for
+ * instance by every execution of a mojo within a session, is transformed once.
+ *
+ * The filters of this API with a stateless transformation are compared by structure: two {@link ScopeFilter},
+ * {@link ExclusionsFilter}, {@link AndFilter} or {@link OrFilter} with equal scopes or exclusions, or with
+ * structurally equal operands in the same order, share their transformation even when they were built separately. The pattern filters are compared by identity,
+ * since their transformations keep statistics and reports of their own, and so are the trees containing them. Other
+ * filters, like the {@link AbstractFilter} callbacks, are compared with {@link Object#equals(Object)}, which is their
+ * identity unless they define it otherwise.
+ *
+ * Only whole trees are memoized, at their root: the delegate is given the filter as is, so a delegate rewriting
+ * composite filters as a whole, like {@link OptimizingArtifactIncludeFilterTransformer}, sees all their operands. The
+ * sub-trees are not memoized, so equal sub-trees of different trees do not share their transformation.
+ *
+ * The store is bounded, the transformations that were not used for the longest time being evicted first. It holds
+ * the filters, through their keys, and their transformations strongly until they are evicted.
+ *
+ * Note: the transformation of a filter is shared by its uses, so the statistics of a pattern filter transformed to
+ * {@link org.apache.maven.shared.artifact.filter.PatternIncludesArtifactFilter} accumulate across the transformations
+ * of that same filter, and the delegate must not be reconfigured once in use.
+ *
+ * @param <T> the interface of the tool specific filter
+ * @since 3.4.1
+ */
+public class MemoizingFilterTransformer<T> implements FilterTransformer<T> {
+    /**
+     * The default maximum number of memoized transformations.
+     */
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    private final FilterTransformer<T> delegate;
+
+    private final int maxSize;
+
+    /**
+     * The transformations by filter key, in access order; guarded by itself.
+     */
+    private final Map<Object, T> transformations;
+
+    private long hits;
+
+    private long misses;
+
+    /**
+     * Creates a transformer memoizing up to {@link #DEFAULT_MAX_SIZE} transformations.
+     *
+     * @param delegate the transformer to memoize, may not be {@code null}
+     */
+    public MemoizingFilterTransformer(FilterTransformer<T> delegate) {
+        this(delegate, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a transformer.
+     *
+     * @param delegate the transformer to memoize, may not be {@code null}
+     * @param maxSize the maximum number of memoized transformations, must be positive
+     */
+    public MemoizingFilterTransformer(FilterTransformer<T> delegate, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.delegate = requireNonNull(delegate, "delegate cannot be null");
+        this.maxSize = maxSize;
+        this.transformations = new LinkedHashMap<Object, T>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, T> eldest) {
+                return size() > MemoizingFilterTransformer.this.maxSize;
+            }
+        };
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public T transform(ScopeFilter scopeFilter) {
+        return memoize(scopeFilter, () -> delegate.transform(scopeFilter));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public T transform(AndFilter andFilter) {
+        return memoize(andFilter, () -> delegate.transform(andFilter));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public T transform(ExclusionsFilter exclusionsFilter) {
+        return memoize(exclusionsFilter, () -> delegate.transform(exclusionsFilter));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public T transform(OrFilter orFilter) {
+        return memoize(orFilter, () -> delegate.transform(orFilter));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public T transform(PatternExclusionsFilter patternExclusionsFilter) {
+        return memoize(patternExclusionsFilter, () -> delegate.transform(patternExclusionsFilter));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public T transform(PatternInclusionsFilter patternInclusionsFilter) {
+        return memoize(patternInclusionsFilter, () -> delegate.transform(patternInclusionsFilter));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public T transform(AbstractFilter abstractFilter) {
+        return memoize(abstractFilter, () -> delegate.transform(abstractFilter));
+    }
+
+    /**
+     * @return the number of transformations answered from the store
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * @return the number of transformations delegated
+     */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * @return the number of memoized transformations
+     */
+    public synchronized int size() {
+        return transformations.size();
+    }
+
+    /**
+     * Returns the memoized transformation of the filter, transforming it if absent. The transformation is not done
+     * while holding the lock; when concurrent callers transform equal filters, the first stored transformation is
+     * kept.
+     */
+    private T memoize(TransformableFilter filter, Supplier<T> transformation) {
+        Object key = keyOf(filter);
+        synchronized (this) {
+            T transformed = transformations.get(key);
+            if (transformed != null) {
+                hits++;
+                return transformed;
+            }
+            misses++;
+        }
+
+        T transformed = requireNonNull(transformation.get(), "transformed filter cannot be null");
+        synchronized (this) {
+            T existing = transformations.putIfAbsent(key, transformed);
+            return existing != null ? existing : transformed;
+        }
+    }
+
+    /**
+     * Returns the key of the filter: the list of its class and its operands, scopes or exclusions for the filters of
+     * this API, subclasses excluded, with the filter itself for the pattern filters, and the filter itself otherwise.
+     * The collections are copied, so a key does not change with the collections the filter was built from.
+     */
+    private static Object keyOf(TransformableFilter filter) {
+        Class<?> type = filter.getClass();
+        if (type == AndFilter.class) {
+            return Arrays.asList(type, keysOf(((AndFilter) filter).getFilters()));
+        } else if (type == OrFilter.class) {
+            return Arrays.asList(type, keysOf(((OrFilter) filter).getFilters()));
+        } else if (type == ScopeFilter.class) {
+            ScopeFilter scopeFilter = (ScopeFilter) filter;
+            return Arrays.asList(type, copyOf(scopeFilter.getIncluded()), copyOf(scopeFilter.getExcluded()));
+        } else if (type == ExclusionsFilter.class) {
+            return Arrays.asList(type, copyOf(((ExclusionsFilter) filter).getExcludes()));
+        } else if (type == PatternInclusionsFilter.class) {
+            return Arrays.asList(type, filter, copyOf(((PatternInclusionsFilter) filter).getIncludes()));
+        } else if (type == PatternExclusionsFilter.class) {
+            return Arrays.asList(type, filter, copyOf(((PatternExclusionsFilter) filter).getExcludes()));
+        }
+        return filter;
+    }
+
+    private static List<Object> keysOf(Collection<TransformableFilter> filters) {
+        List<Object> keys = new ArrayList<>(filters.size());
+        for (TransformableFilter filter : filters) {
+            keys.add(keyOf(filter));
+        }
+        return keys;
+    }
+
+    private static List<String> copyOf(Collection<String> values) {
+        return values != null ? new ArrayList<>(values) : null;
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter.resolve.transform;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.apache.maven.shared.artifact.filter.PatternExcludesArtifactFilter;
+import org.apache.maven.shared.artifact.filter.PatternIncludesArtifactFilter;
+import org.apache.maven.shared.artifact.filter.internal.CoordinateInterner;
+import org.apache.maven.shared.artifact.filter.resolve.AbstractFilter;
+import org.apache.maven.shared.artifact.filter.resolve.AndFilter;
+import org.apache.maven.shared.artifact.filter.resolve.ExclusionsFilter;
+import org.apache.maven.shared.artifact.filter.resolve.FilterTransformer;
+import org.apache.maven.shared.artifact.filter.resolve.OrFilter;
+import org.apache.maven.shared.artifact.filter.resolve.PatternExclusionsFilter;
+import org.apache.maven.shared.artifact.filter.resolve.PatternInclusionsFilter;
+import org.apache.maven.shared.artifact.filter.resolve.ScopeFilter;
+import org.apache.maven.shared.artifact.filter.resolve.TransformableFilter;
+
+/**
+ * Transforms TransformableFilters into a single classic Maven ArtifactFilter, accepting the same artifacts as
+ * {@link ArtifactIncludeFilterTransformer} does, but optimized for evaluation:
+ * <ul>
+ * <li>nested {@link AndFilter}s, respectively {@link OrFilter}s, are flattened into one conjunction, respectively
+ * disjunction</li>
+ * <li>sibling {@link ScopeFilter}s are merged into a single bitmask check over the well-known scopes</li>
+ * <li>sibling {@link PatternInclusionsFilter}s of a disjunction, and sibling {@link PatternExclusionsFilter}s of a
+ * conjunction, are merged into one indexed pattern matcher, unless they contain negative patterns</li>
+ * <li>cheap checks are evaluated first: scopes, then exclusions, then patterns, then {@link AbstractFilter}
+ * callbacks</li>
+ * </ul>
+ *
+ * <strong>Note:</strong> as checks are reordered and short-circuited, an {@link AbstractFilter} may not be called for
+ * an artifact that a cheaper check already decided, and the merged pattern filters only track the artifacts they
+ * evaluate. The settings apply to the filters transformed after they are set.
+ *
+ * @since 3.4.1
+ */
+public class OptimizingArtifactIncludeFilterTransformer implements FilterTransformer<ArtifactFilter> {
+    private static final int SCOPE_COST = 0;
+
+    private static final int EXCLUSIONS_COST = 1;
+
+    private static final int PATTERN_COST = 2;
+
+    private static final int CALLBACK_COST = 3;
+
+    private static final ArtifactFilter ALL = artifact -> true;
+
+    private static final ArtifactFilter NONE = artifact -> false;
+
+    private final ArtifactIncludeFilterTransformer leafTransformer = new ArtifactIncludeFilterTransformer();
+
+    private boolean includeNullScope = true;
+
+    private boolean actTransitivelyPattern = false;
+
+    /**
+     * Decide if artifact should be included if its scope is {@code null}, default is {@code true}
+     *
+     * @param includeNullScope set to {@code false} if {@code null}-scoped Artifacts should not be included
+     * @see ArtifactIncludeFilterTransformer#setIncludeNullScope(boolean)
+     */
+    public void setIncludeNullScope(boolean includeNullScope) {
+        this.includeNullScope = includeNullScope;
+        leafTransformer.setIncludeNullScope(includeNullScope);
+    }
+
+    /**
+     * Determines whether the include/exclude patterns will be applied to the transitive path of a given artifact,
+     * default is {@code false}
+     *
+     * @param actTransitivelyPattern set to {@code true} if this artifact should be included/excluded just like one of
+     *            its ancestors.
+     * @see ArtifactIncludeFilterTransformer#setActTransitivelyPattern(boolean)
+     */
+    public void setActTransitivelyPattern(boolean actTransitivelyPattern) {
+        this.actTransitivelyPattern = actTransitivelyPattern;
+        leafTransformer.setActTransitivelyPattern(actTransitivelyPattern);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ArtifactFilter transform(ScopeFilter scopeFilter) {
+        List<ScopeFilter> scopeFilters = new ArrayList<>(1);
+        scopeFilters.add(scopeFilter);
+        return scopes(scopeFilters, true);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ArtifactFilter transform(AndFilter andFilter) {
+        return compose(andFilter.getFilters(), true);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ArtifactFilter transform(ExclusionsFilter exclusionsFilter) {
+        return leafTransformer.transform(exclusionsFilter);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ArtifactFilter transform(OrFilter orFilter) {
+        return compose(orFilter.getFilters(), false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ArtifactFilter transform(PatternExclusionsFilter patternExclusionsFilter) {
+        return leafTransformer.transform(patternExclusionsFilter);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ArtifactFilter transform(PatternInclusionsFilter patternInclusionsFilter) {
+        return leafTransformer.transform(patternInclusionsFilter);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ArtifactFilter transform(AbstractFilter filter) {
+        return leafTransformer.transform(filter);
+    }
+
+    /**
+     * Compiles a conjunction or disjunction of filters into one filter.
+     *
+     * @param filters the operands
+     * @param and {@code true} for a conjunction, {@code false} for a disjunction
+     */
+    private ArtifactFilter compose(Collection<TransformableFilter> filters, boolean and) {
+        List<TransformableFilter> operands = new ArrayList<>();
+        flatten(filters, and, operands);
+
+        List<ScopeFilter> scopeFilters = new ArrayList<>();
+        List<String> mergedPatterns = new ArrayList<>();
+        int mergeablePatternFilters = 0;
+        List<TransformableFilter> others = new ArrayList<>();
+        for (TransformableFilter operand : operands) {
+            if (operand.getClass() == ScopeFilter.class) {
+                scopeFilters.add((ScopeFilter) operand);
+            } else if (isMergeablePatternFilter(operand, and)) {
+                mergedPatterns.addAll(getPatterns(operand));
+                mergeablePatternFilters++;
+            } else {
+                others.add(operand);
+            }
+        }
+
+        List<CostedFilter> compiled = new ArrayList<>();
+        if (!scopeFilters.isEmpty()) {
+            compiled.add(new CostedFilter(scopes(scopeFilters, and), SCOPE_COST));
+        }
+        if (mergeablePatternFilters > 0) {
+            ArtifactFilter patterns = and
+                    ? new PatternExcludesArtifactFilter(mergedPatterns, actTransitivelyPattern)
+                    : new PatternIncludesArtifactFilter(mergedPatterns, actTransitivelyPattern);
+            compiled.add(new CostedFilter(patterns, PATTERN_COST));
+        }
+        for (TransformableFilter other : others) {
+            compiled.add(new CostedFilter(other.transform(this), cost(other)));
+        }
+        // stable, operands of the same cost keep their order
+        compiled.sort(Comparator.comparingInt(costed -> costed.cost));
+
+        if (compiled.isEmpty()) {
+            return and ? ALL : NONE;
+        }
+        if (compiled.size() == 1) {
+            return compiled.get(0).filter;
+        }
+        final ArtifactFilter[] array = new ArtifactFilter[compiled.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = compiled.get(i).filter;
+        }
+        if (and) {
+            return artifact -> {
+                for (ArtifactFilter filter : array) {
+                    if (!filter.include(artifact)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        }
+        return artifact -> {
+            for (ArtifactFilter filter : array) {
+                if (filter.include(artifact)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    /**
+     * Collects the operands, replacing nested filters of the same kind by their own operands.
+     */
+    private static void flatten(Collection<TransformableFilter> filters, boolean and, List<TransformableFilter> out) {
+        for (TransformableFilter filter : filters) {
+            if (and && filter.getClass() == AndFilter.class) {
+                flatten(((AndFilter) filter).getFilters(), true, out);
+            } else if (!and && filter.getClass() == OrFilter.class) {
+                flatten(((OrFilter) filter).getFilters(), false, out);
+            } else {
+                out.add(filter);
+            }
+        }
+    }
+
+    /**
+     * Tells whether the pattern filter can be merged with its siblings: a disjunction of inclusions, or a conjunction
+     * of exclusions, without negative patterns is the inclusion, respectively exclusion, of all their patterns.
+     */
+    private static boolean isMergeablePatternFilter(TransformableFilter filter, boolean and) {
+        Class<?> type = and ? PatternExclusionsFilter.class : PatternInclusionsFilter.class;
+        if (filter.getClass() != type) {
+            return false;
+        }
+        for (String pattern : getPatterns(filter)) {
+            if (pattern.startsWith("!")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Collection<String> getPatterns(TransformableFilter filter) {
+        return filter instanceof PatternExclusionsFilter
+                ? ((PatternExclusionsFilter) filter).getExcludes()
+                : ((PatternInclusionsFilter) filter).getIncludes();
+    }
+
+    /**
+     * Estimates the cost of evaluating the filter, a composite costs as much as its most expensive operand.
+     */
+    private static int cost(TransformableFilter filter) {
+        if (filter instanceof ScopeFilter) {
+            return SCOPE_COST;
+        } else if (filter instanceof ExclusionsFilter) {
+            return EXCLUSIONS_COST;
+        } else if (filter instanceof PatternInclusionsFilter || filter instanceof PatternExclusionsFilter) {
+            return PATTERN_COST;
+        } else if (filter instanceof AndFilter || filter instanceof OrFilter) {
+            Collection<TransformableFilter> operands = filter instanceof AndFilter
+                    ? ((AndFilter) filter).getFilters()
+                    : ((OrFilter) filter).getFilters();
+            int cost = SCOPE_COST;
+            for (TransformableFilter operand : operands) {
+                cost = Math.max(cost, cost(operand));
+            }
+            return cost;
+        }
+        return CALLBACK_COST;
+    }
+
+    /**
+     * Compiles a conjunction or disjunction of scope filters into a bitmask over the ids of the well-known scopes,
+     * other scopes are checked against the filters.
+     */
+    private ArtifactFilter scopes(List<ScopeFilter> scopeFilters, boolean and) {
+        final ScopeFilter[] filters = scopeFilters.toArray(new ScopeFilter[0]);
+        long mask = 0;
+        for (int id = CoordinateInterner.UNKNOWN + 1; id < CoordinateInterner.size(); id++) {
+            if (accepts(filters, and, CoordinateInterner.valueOf(id))) {
+                mask |= 1L << id;
+            }
+        }
+        final long acceptedIds = mask;
+        final boolean nullScope = includeNullScope;
+        return artifact -> {
+            String scope = artifact.getScope();
+            if (scope == null) {
+                return nullScope;
+            }
+            int id = CoordinateInterner.id(scope);
+            return id != CoordinateInterner.UNKNOWN ? (acceptedIds & 1L << id) != 0 : accepts(filters, and, scope);
+        };
+    }
+
+    private static boolean accepts(ScopeFilter[] filters, boolean and, String scope) {
+        for (ScopeFilter filter : filters) {
+            boolean accepted = (filter.getIncluded() == null || filter.getIncluded().contains(scope))
+                    && (filter.getExcluded() == null || !filter.getExcluded().contains(scope));
+            if (accepted != and) {
+                return accepted;
+            }
+        }
+        return and;
+    }
+
+    private static final class CostedFilter {
+        private final ArtifactFilter filter;
+
+        private final int cost;
+
+        private CostedFilter(ArtifactFilter filter, int cost) {
+            this.filter = filter;
+            this.cost = cost;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter.resolve.transform;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+import org.apache.maven.shared.artifact.filter.resolve.Node;
+
+/**
+ * Lazy view of the parents of a node, from its immediate parent to the root, adapting a parent on first access only.
+ * The parents already adapted by the view of the previous node are reused when they have the same source at the same
+ * depth, so the parents shared by the nodes of a traversal are adapted once. The view of the previous node is kept per
+ * thread by {@link LastParents}.
+ *
+ * @param <T> the type of the adapted parents
+ */
+abstract class ParentNodes<T> extends AbstractList<Node> implements RandomAccess {
+    /**
+     * The adapted parents by depth, the root first, {@code null} until accessed.
+     */
+    private final Node[] nodes;
+
+    /**
+     * @param size the number of parents
+     * @param previous the view of the parents of the previous node, may be {@code null}
+     */
+    ParentNodes(int size, ParentNodes<T> previous) {
+        this.nodes = new Node[size];
+        if (previous != null) {
+            System.arraycopy(previous.nodes, 0, nodes, 0, Math.min(size, previous.nodes.length));
+        }
+    }
+
+    @Override
+    public Node get(int index) {
+        if (index < 0 || index >= nodes.length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + nodes.length);
+        }
+        T source = getSource(index);
+        int depth = nodes.length - 1 - index;
+        Node node = nodes[depth];
+        if (node == null || !isAdapted(node, source)) {
+            node = adapt(source);
+            nodes[depth] = node;
+        }
+        return node;
+    }
+
+    @Override
+    public int size() {
+        return nodes.length;
+    }
+
+    /**
+     * @param index the index of the parent, {@code 0} for the immediate parent
+     * @return the parent to adapt
+     */
+    abstract T getSource(int index);
+
+    /**
+     * @param node a node adapted by this view or a previous one
+     * @param source a parent
+     * @return whether the node adapts the parent
+     */
+    abstract boolean isAdapted(Node node, T source);
+
+    /**
+     * @param source a parent
+     * @return the adapted parent
+     */
+    abstract Node adapt(T source);
+
+    /**
+     * The view of the parents of the last node evaluated by each thread. Concurrent traversals do not share their
+     * views, and a view is held weakly so that a long-lived filter does not keep the nodes of a finished traversal
+     * alive; a collected view is simply not reused.
+     *
+     * @param <P> the type of the views
+     */
+    static final class LastParents<P extends ParentNodes<?>> {
+        private final ThreadLocal<Reference<P>> views = new ThreadLocal<>();
+
+        /**
+         * @return the view of the parents of the last node evaluated by this thread, {@code null} if none
+         */
+        P get() {
+            Reference<P> view = views.get();
+            return view != null ? view.get() : null;
+        }
+
+        /**
+         * @param view the view of the parents of the node evaluated by this thread
+         */
+        void set(P view) {
+            views.set(new WeakReference<>(view));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter.resolve.transform;
+
+import java.util.List;
+
+import org.apache.maven.shared.artifact.filter.PatternIncludesArtifactFilter;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.ArtifactProperties;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyFilter;
+import org.eclipse.aether.graph.DependencyNode;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * DependencyFilter matching the artifact of a node against the compiled patterns of a
+ * {@link PatternIncludesArtifactFilter}, with the grammar of the Maven artifact filters: negative patterns, wildcards,
+ * classifiers and version ranges. The coordinates are read from the Aether artifact, the type being the {@code type}
+ * property of the artifact or else its extension, as Maven does when converting Aether artifacts.
+ *
+ * Like the Aether pattern filters, nodes without dependency are accepted and the parents are not considered.
+ */
+class PatternDependencyFilter implements DependencyFilter {
+    private final PatternIncludesArtifactFilter patterns;
+
+    private final boolean includeOnMatch;
+
+    /**
+     * @param patterns the compiled patterns
+     * @param includeOnMatch {@code true} to accept the nodes matched by the patterns, {@code false} to reject them
+     */
+    PatternDependencyFilter(PatternIncludesArtifactFilter patterns, boolean includeOnMatch) {
+        this.patterns = requireNonNull(patterns, "patterns cannot be null");
+        this.includeOnMatch = includeOnMatch;
+    }
+
+    @Override
+    public boolean accept(DependencyNode node, List<DependencyNode> parents) {
+        requireNonNull(node, "node cannot be null");
+        requireNonNull(parents, "parents cannot be null");
+
+        Dependency dependency = node.getDependency();
+        if (dependency == null) {
+            return true;
+        }
+
+        Artifact artifact = dependency.getArtifact();
+        boolean matched = patterns.patternMatches(
+                artifact.getGroupId(),
+                artifact.getArtifactId(),
+                artifact.getProperty(ArtifactProperties.TYPE, artifact.getExtension()),
+                artifact.getClassifier(),
+                artifact.getBaseVersion());
+        return matched == includeOnMatch;
+    }
+
+    @Override
+    public String toString() {
+        return patterns.toString();
+    }
+}
@@ -522,4 +522,48 @@ public abstract class AbstractPatternArtifactFilterTest {
             assertFalse(filter.include(artifact));
         }
     }
+
+    @Test
+    public void firstMatchingPatternWinsAcrossIndexedAndWildcardPatterns() {
+        Artifact artifact = mock(Artifact.class);
+        when(artifact.getGroupId()).thenReturn("group");
+        when(artifact.getArtifactId()).thenReturn("artifact");
+        when(artifact.getType()).thenReturn("jar");
+        when(artifact.getBaseVersion()).thenReturn("version");
+
+        // "*:artifact" cannot be looked up by groupId, while the negated patterns can
+        ArtifactFilter positiveFirst = createFilter(Arrays.asList("*:artifact", "!group:artifact"));
+        ArtifactFilter negativeFirst = createFilter(Arrays.asList("!gro*:art*", "*:artifact", "group"));
+
+        if (isInclusionNotExpected()) {
+            assertFalse(positiveFirst.include(artifact));
+            assertTrue(negativeFirst.include(artifact));
+        } else {
+            assertTrue(positiveFirst.include(artifact));
+            assertFalse(negativeFirst.include(artifact));
+        }
+    }
+
+    @Test
+    public void shouldMatchEachWildcardShape() {
+        Artifact artifact = mock(Artifact.class);
+        when(artifact.getGroupId()).thenReturn("org.acme");
+        when(artifact.getArtifactId()).thenReturn("acme-core-api");
+        when(artifact.getType()).thenReturn("jar");
+        when(artifact.getBaseVersion()).thenReturn("1.0");
+
+        List<String> matching = Arrays.asList(
+                "org.acme:acme-*", "org.acme:*-api", "org.acme:*core*", "org.acme:acme-core-?p?", "o*.a*:a*e-*i");
+        List<String> nonMatching = Arrays.asList(
+                "org.acme:core-*", "org.acme:*-core", "org.acme:*impl*", "org.acme:acme-core-?", "o*.a*:a*x*i");
+
+        for (String pattern : matching) {
+            ArtifactFilter filter = createFilter(Collections.singletonList(pattern));
+            assertTrue(filter.include(artifact) != isInclusionNotExpected(), pattern);
+        }
+        for (String pattern : nonMatching) {
+            ArtifactFilter filter = createFilter(Collections.singletonList(pattern));
+            assertFalse(filter.include(artifact) != isInclusionNotExpected(), pattern);
+        }
+    }
 }
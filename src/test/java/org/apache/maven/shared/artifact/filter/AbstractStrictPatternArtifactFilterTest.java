@@ -18,6 +18,8 @@
  */
 package org.apache.maven.shared.artifact.filter;
 
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 
@@ -319,6 +321,12 @@ public abstract class AbstractStrictPatternArtifactFilterTest {
         assertExcluded("groupId:artifactId:type:(,1.0],[1.2,)");
     }
 
+    @Test
+    public void checkInvalidRangeVersion() {
+        assertExcluded("groupId:artifactId:type:[1.0");
+        assertExcluded("groupId:artifactId:type:(1.0,1.1");
+    }
+
     @Test
     public void checkWildcardsWithRangeVersion() {
         artifact = createArtifact("groupId", "artifactId", "type", "1.0.1");
@@ -331,6 +339,69 @@ public abstract class AbstractStrictPatternArtifactFilterTest {
         assertIncluded("test:*:*:[0.0.2,)");
     }
 
+    @Test
+    public void checkRangeVersionNotCheckedOnGroupIdMismatch() throws Exception {
+        VersionRange versionRange = VersionRange.createFromVersionSpec("[1.0,2.0)");
+        artifact = new DefaultArtifact(
+                "other", "artifactId", versionRange, null, "type", null, new DefaultArtifactHandler());
+
+        assertExcluded("org.*:*:*:[1.0,2.0)");
+    }
+
+    @Test
+    public void checkVersionCacheStatistics() {
+        AbstractStrictPatternArtifactFilter filter = createFilter(Arrays.asList("a:*:*:[1.0,2.0)", "b:*:*:[1.0,2.0)"));
+        Artifact a = createArtifact("a", "artifactId", "type", "1.5");
+        Artifact b = createArtifact("b", "artifactId", "type", "1.5");
+
+        filter.include(a);
+        filter.include(b);
+        filter.include(a);
+
+        // the patterns share their range, each version is parsed once
+        FilterStatistics statistics = filter.getStatistics();
+        assertEquals(2, statistics.getVersionCacheHits());
+        assertEquals(1, statistics.getVersionCacheMisses());
+        assertEquals(0, statistics.getEvaluations());
+    }
+
+    @Test
+    public void checkAnyOfMultiplePatterns() {
+        AbstractStrictPatternArtifactFilter matching = createFilter(Collections.singletonList("groupId"));
+        AbstractStrictPatternArtifactFilter missing = createFilter(Collections.singletonList("different"));
+
+        assertEquals(
+                matching.include(artifact),
+                createFilter(Arrays.asList("other:*", "groupId:different", "*:artifactId:type")).include(artifact));
+        assertEquals(
+                matching.include(artifact),
+                createFilter(Arrays.asList("groupId:different", "group*:*:*:version")).include(artifact));
+        assertEquals(
+                missing.include(artifact),
+                createFilter(Arrays.asList("groupId:different", "*:artifactId:different", "*:*:*:[1.0,)", "a:b:c:d:e"))
+                        .include(artifact));
+        assertEquals(missing.include(artifact), createFilter(Collections.emptyList()).include(artifact));
+    }
+
+    @Test
+    public void checkIncludeAllMatchesIncludeOfEachArtifact() {
+        List<Artifact> artifacts = Arrays.asList(
+                createArtifact("groupId", "artifactId", "type", "1.0"),
+                createArtifact("groupId", "other", "type", "1.0"),
+                createArtifact("other", "artifactId", "type", "2.0"),
+                createArtifact("groupId", "artifactId", "other", "2.0"),
+                createArtifact("group", "artifactId", "type", "1.0"));
+        AbstractStrictPatternArtifactFilter filter =
+                createFilter(Arrays.asList("groupId:artifactId", "other:*:*:[2.0,)", "*:artifactId:other"));
+
+        BitSet included = new BitSet();
+        filter.includeAll(artifacts, included);
+
+        for (int i = 0; i < artifacts.size(); i++) {
+            assertEquals(filter.include(artifacts.get(i)), included.get(i), "artifact at index " + i);
+        }
+    }
+
     // protected methods ------------------------------------------------------
 
     /**
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FilterStatisticsTest {
+    @Test
+    void exportsJson() {
+        Map<String, Long> hits = new LinkedHashMap<>();
+        hits.put("org.apache:*", 3L);
+        hits.put("\"quoted\"\\", 0L);
+        FilterStatistics statistics = new FilterStatistics(5, 2, 1000, hits);
+
+        assertEquals(
+                "{\"evaluations\":5,\"rejections\":2,\"includeNanos\":1000,"
+                        + "\"criterionHits\":{\"org.apache:*\":3,\"\\\"quoted\\\"\\\\\":0}}",
+                statistics.toJson());
+    }
+
+    @Test
+    void exportsPrometheusText() {
+        Map<String, Long> hits = new LinkedHashMap<>();
+        hits.put("compile", 3L);
+        FilterStatistics statistics = new FilterStatistics(5, 2, 0, hits);
+
+        assertEquals(
+                "# TYPE artifact_filter_evaluations_total counter\n"
+                        + "artifact_filter_evaluations_total{filter=\"scope\"} 5\n"
+                        + "# TYPE artifact_filter_rejections_total counter\n"
+                        + "artifact_filter_rejections_total{filter=\"scope\"} 2\n"
+                        + "# TYPE artifact_filter_include_nanoseconds_total counter\n"
+                        + "artifact_filter_include_nanoseconds_total{filter=\"scope\"} 0\n"
+                        + "# TYPE artifact_filter_criterion_hits_total counter\n"
+                        + "artifact_filter_criterion_hits_total{filter=\"scope\",criterion=\"compile\"} 3\n",
+                statistics.toPrometheusText("scope"));
+    }
+
+    @Test
+    void exportsCacheCountsWhenLookedUp() {
+        Map<String, Long> hits = new LinkedHashMap<>();
+        hits.put("*:a", 4L);
+        FilterStatistics statistics = new FilterStatistics(4, 0, 0, hits, 3, 1);
+
+        assertEquals(0.75, statistics.getCacheHitRatio());
+        assertEquals(
+                "{\"evaluations\":4,\"rejections\":0,\"includeNanos\":0,\"cacheHits\":3,\"cacheMisses\":1,"
+                        + "\"criterionHits\":{\"*:a\":4}}",
+                statistics.toJson());
+        assertTrue(statistics.toPrometheusText("f").contains("artifact_filter_cache_hits_total{filter=\"f\"} 3\n"));
+    }
+
+    @Test
+    void exportsVersionCacheCountsWhenLookedUp() {
+        FilterStatistics statistics = new FilterStatistics(4, 0, 0, new LinkedHashMap<>(), 0, 0, 9, 1);
+
+        assertEquals(0.9, statistics.getVersionCacheHitRatio());
+        assertEquals(
+                "{\"evaluations\":4,\"rejections\":0,\"includeNanos\":0,\"versionCacheHits\":9,"
+                        + "\"versionCacheMisses\":1,\"criterionHits\":{}}",
+                statistics.toJson());
+        assertTrue(statistics
+                .toPrometheusText("f")
+                .contains("artifact_filter_version_cache_misses_total{filter=\"f\"} 1\n"));
+    }
+
+    @Test
+    void emptyStatistics() {
+        assertEquals(
+                "{\"evaluations\":0,\"rejections\":0,\"includeNanos\":0,\"criterionHits\":{}}",
+                FilterStatistics.empty().toJson());
+    }
+}
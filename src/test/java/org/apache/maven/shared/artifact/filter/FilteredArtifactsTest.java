@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FilteredArtifactsTest {
+    @Test
+    void fullPolicyListsAllArtifacts() {
+        FilteredArtifacts filtered = record(ReportingPolicy.FULL, 3);
+
+        assertEquals(3, filtered.getCount());
+        assertEquals("|a0|a1|a2", report(filtered));
+    }
+
+    @Test
+    void samplePolicyListsFirstArtifacts() {
+        FilteredArtifacts filtered = record(ReportingPolicy.sample(2), 5);
+
+        assertEquals(5, filtered.getCount());
+        assertEquals("|a0|a1|... 3 more", report(filtered));
+    }
+
+    @Test
+    void countPolicyOnlyCounts() {
+        FilteredArtifacts filtered = record(ReportingPolicy.COUNT, 4);
+
+        assertFalse(filtered.isEmpty());
+        assertEquals("|... 4 artifacts", report(filtered));
+    }
+
+    @Test
+    void offPolicyRecordsNothing() {
+        FilteredArtifacts filtered = record(ReportingPolicy.OFF, 4);
+
+        assertTrue(filtered.isEmpty());
+        assertEquals("", report(filtered));
+    }
+
+    @Test
+    void clearForgetsArtifacts() {
+        FilteredArtifacts filtered = record(ReportingPolicy.sample(2), 3);
+        filtered.clear();
+        assertTrue(filtered.isEmpty());
+
+        filtered.add(artifact(7));
+        assertEquals("|a7", report(filtered));
+    }
+
+    @Test
+    void rejectsNegativeSampleSize() {
+        assertThrows(IllegalArgumentException.class, () -> ReportingPolicy.sample(-1));
+    }
+
+    private static FilteredArtifacts record(ReportingPolicy policy, int count) {
+        FilteredArtifacts filtered = new FilteredArtifacts(policy);
+        for (int i = 0; i < count; i++) {
+            filtered.add(artifact(i));
+        }
+        return filtered;
+    }
+
+    private static Artifact artifact(int i) {
+        return new DefaultArtifact("g", "a" + i, "1.0", "compile", "jar", "", null);
+    }
+
+    private static String report(FilteredArtifacts filtered) {
+        StringBuilder buffer = new StringBuilder();
+        filtered.appendTo(buffer, "|", Artifact::getArtifactId);
+        return buffer.toString();
+    }
+}
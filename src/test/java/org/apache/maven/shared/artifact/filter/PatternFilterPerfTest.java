@@ -144,6 +144,45 @@ public class PatternFilterPerfTest {
         }
     }
 
+    /**
+     * One pattern per token shape, each compiled to its own matcher.
+     */
+    @State(Scope.Benchmark)
+    public static class TokenShapeState {
+
+        @Param({
+            "groupId:artifact-99", // exact
+            "groupId:artifact-*", // prefix
+            "groupId:*-99", // suffix
+            "groupId:*fact*", // contains
+            "groupId:artifact-?9", // mask
+            "groupId:a*t-*9", // glob
+        })
+        private String patterns;
+
+        ArtifactFilter filter;
+        Artifact artifact;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            filter = new PatternIncludesArtifactFilter(Arrays.asList(getPatterns().split(",")));
+            artifact = new DefaultArtifact("groupId", "artifact-99", "1.0", "runtime", "jar", "", null);
+        }
+
+        public String getPatterns() {
+            return patterns;
+        }
+
+        public void setPatterns(String patterns) {
+            this.patterns = patterns;
+        }
+    }
+
+    @Benchmark
+    public boolean tokenShapeTest(TokenShapeState state) {
+        return state.filter.include(state.artifact);
+    }
+
     @Benchmark
     public boolean newPatternTest(NewPatternState state) {
         return state.filter.include(state.artifact);
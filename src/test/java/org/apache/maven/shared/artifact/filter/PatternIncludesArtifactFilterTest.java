@@ -18,9 +18,25 @@
  */
 package org.apache.maven.shared.artifact.filter;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class PatternIncludesArtifactFilterTest extends AbstractPatternArtifactFilterTest {
     @Override
@@ -37,4 +53,228 @@ public class PatternIncludesArtifactFilterTest extends AbstractPatternArtifactFi
     protected boolean isInclusionNotExpected() {
         return false;
     }
+
+    @Test
+    void sharedFilterTracksTriggeredPatternsAcrossThreads() throws Exception {
+        List<String> patterns = new ArrayList<>();
+        List<Artifact> artifacts = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            patterns.add("group" + i + ":artifact");
+
+            Artifact artifact = mock(Artifact.class);
+            when(artifact.getGroupId()).thenReturn("group" + i);
+            when(artifact.getArtifactId()).thenReturn(i % 2 == 0 ? "artifact" : "other");
+            when(artifact.getType()).thenReturn("jar");
+            when(artifact.getBaseVersion()).thenReturn("1.0");
+            artifacts.add(artifact);
+        }
+        // odd groups are never matched by the artifacts above, so trigger them with a second artifact each
+        for (int i = 1; i < 100; i += 2) {
+            Artifact artifact = mock(Artifact.class);
+            when(artifact.getGroupId()).thenReturn("group" + i);
+            when(artifact.getArtifactId()).thenReturn("artifact");
+            when(artifact.getType()).thenReturn("jar");
+            when(artifact.getBaseVersion()).thenReturn("1.0");
+            artifacts.add(artifact);
+        }
+
+        PatternIncludesArtifactFilter filter = new PatternIncludesArtifactFilter(patterns);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final int offset = t;
+                results.add(executor.submit(() -> {
+                    int included = 0;
+                    for (int i = 0; i < artifacts.size(); i++) {
+                        if (filter.include(artifacts.get((i + offset * 17) % artifacts.size()))) {
+                            included++;
+                        }
+                    }
+                    return included;
+                }));
+            }
+            for (Future<Integer> result : results) {
+                assertEquals(100, result.get().intValue());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertFalse(filter.hasMissedCriteria());
+    }
+
+    @Test
+    void includeAllMatchesIncludeOfEachArtifact() {
+        List<String> patterns = Arrays.asList("!group1:*", "group*:artifact", "*:other", "group3", "never:matched");
+        List<Artifact> artifacts = createGroupArtifacts();
+
+        PatternIncludesArtifactFilter filter = new PatternIncludesArtifactFilter(patterns);
+        PatternIncludesArtifactFilter batchFilter = new PatternIncludesArtifactFilter(patterns);
+        BitSet included = new BitSet();
+        included.set(0, artifacts.size() + 1);
+        batchFilter.includeAll(artifacts, included);
+
+        for (int i = 0; i < artifacts.size(); i++) {
+            assertEquals(filter.include(artifacts.get(i)), included.get(i), "artifact at index " + i);
+        }
+        assertTrue(included.get(artifacts.size()));
+        assertEquals(filter.hasMissedCriteria(), batchFilter.hasMissedCriteria());
+        assertTrue(batchFilter.hasMissedCriteria());
+    }
+
+    @Test
+    void statisticsCountEvaluationsRejectionsAndPatternHits() {
+        List<String> patterns = Arrays.asList("!group1:*", "group*:artifact", "*:other", "group3");
+        List<Artifact> artifacts = createGroupArtifacts();
+
+        PatternIncludesArtifactFilter filter = new PatternIncludesArtifactFilter(patterns);
+        for (Artifact artifact : artifacts) {
+            filter.include(artifact);
+        }
+        PatternIncludesArtifactFilter batchFilter = new PatternIncludesArtifactFilter(patterns);
+        batchFilter.includeAll(artifacts, new BitSet());
+
+        Map<String, Long> hits = new LinkedHashMap<>();
+        hits.put("!group1:*", 6L);
+        hits.put("group*:artifact", 4L);
+        hits.put("*:other", 4L);
+        hits.put("group3", 0L);
+        for (FilterStatistics statistics : Arrays.asList(filter.getStatistics(), batchFilter.getStatistics())) {
+            assertEquals(18, statistics.getEvaluations());
+            assertEquals(10, statistics.getRejections());
+            assertEquals(0, statistics.getIncludeNanos());
+            assertEquals(hits, statistics.getCriterionHits());
+        }
+    }
+
+    @Test
+    void decisionCacheKeepsPatternHitsAndReportsHitRatio() {
+        List<String> patterns = Arrays.asList("!group1:*", "group*:artifact", "*:other", "group3");
+        List<Artifact> artifacts = createGroupArtifacts();
+
+        PatternIncludesArtifactFilter filter = new PatternIncludesArtifactFilter(patterns);
+        filter.setDecisionCacheSize(16);
+        for (Artifact artifact : artifacts) {
+            filter.include(artifact);
+        }
+        PatternIncludesArtifactFilter batchFilter = new PatternIncludesArtifactFilter(patterns);
+        batchFilter.setDecisionCacheSize(16);
+        batchFilter.includeAll(artifacts, new BitSet());
+
+        Map<String, Long> hits = new LinkedHashMap<>();
+        hits.put("!group1:*", 6L);
+        hits.put("group*:artifact", 4L);
+        hits.put("*:other", 4L);
+        hits.put("group3", 0L);
+        for (FilterStatistics statistics : Arrays.asList(filter.getStatistics(), batchFilter.getStatistics())) {
+            assertEquals(18, statistics.getEvaluations());
+            assertEquals(10, statistics.getRejections());
+            assertEquals(hits, statistics.getCriterionHits());
+            assertEquals(9, statistics.getCacheHits());
+            assertEquals(9, statistics.getCacheMisses());
+            assertEquals(0.5, statistics.getCacheHitRatio());
+        }
+    }
+
+    @Test
+    void decisionCacheDecidesDependencyTrailsByElement() {
+        PatternIncludesArtifactFilter filter = new PatternIncludesArtifactFilter(Arrays.asList("g:parent"), true);
+        filter.setDecisionCacheSize(16);
+
+        Artifact fromParent = createArtifact("g", "child");
+        when(fromParent.getDependencyTrail()).thenReturn(Arrays.asList("g:parent:jar:1.0", "g:child:jar:1.0"));
+        Artifact fromOther = createArtifact("g", "child");
+        when(fromOther.getDependencyTrail()).thenReturn(Arrays.asList("g:other:jar:1.0", "g:child:jar:1.0"));
+
+        for (int i = 0; i < 2; i++) {
+            assertTrue(filter.include(fromParent));
+            assertFalse(filter.include(fromOther));
+        }
+        assertEquals(Long.valueOf(2), filter.getStatistics().getCriterionHits().get("g:parent"));
+    }
+
+    @Test
+    void patternMatchesCoordinatesAsArtifact() {
+        List<String> patterns = Arrays.asList("!group1:*", "group*:artifact", "*:other", "*:*:jar:tests:[1.0,2.0)");
+
+        PatternIncludesArtifactFilter filter = new PatternIncludesArtifactFilter(patterns);
+        for (Artifact artifact : createGroupArtifacts()) {
+            assertEquals(
+                    filter.include(artifact),
+                    filter.patternMatches(
+                            artifact.getGroupId(), artifact.getArtifactId(), artifact.getType(), null, "1.0"));
+        }
+        assertTrue(filter.patternMatches("g", "a", "jar", "tests", "1.5"));
+        assertFalse(filter.patternMatches("g", "a", "jar", "tests", "2.0"));
+        // an empty classifier is no classifier
+        assertEquals(
+                filter.patternMatches("g", "other", "jar", null, "1.0"),
+                filter.patternMatches("g", "other", "jar", "", "1.0"));
+        assertEquals(Long.valueOf(1), filter.getStatistics().getCriterionHits().get("*:*:jar:tests:[1.0,2.0)"));
+    }
+
+    @Test
+    void statisticsReportVersionCacheCounts() {
+        PatternIncludesArtifactFilter filter =
+                new PatternIncludesArtifactFilter(Arrays.asList("!*:*:*:*:[2.0,)", "*:*:*:*:[1.0,2.0)"));
+
+        assertTrue(filter.include(createArtifact("g", "a")));
+        assertTrue(filter.include(createArtifact("g", "b")));
+
+        FilterStatistics statistics = filter.getStatistics();
+        // one range per pattern, "1.0" parsed once by each
+        assertEquals(2, statistics.getVersionCacheMisses());
+        assertEquals(2, statistics.getVersionCacheHits());
+        assertTrue(statistics.toJson().contains("\"versionCacheHits\":2,\"versionCacheMisses\":2"));
+    }
+
+    @Test
+    void adaptiveFilterMovesHotPatternsAheadWithinSamePolarity() {
+        PatternIncludesArtifactFilter filter =
+                new PatternIncludesArtifactFilter(Arrays.asList("*:a", "!g:c", "g:b*", "*:b"));
+        filter.setAdaptive(true);
+        Artifact hot = createArtifact("h", "b");
+        for (int i = 0; i < 5000; i++) {
+            assertTrue(filter.include(hot));
+        }
+
+        // "*:b" now comes before "g:b*", but not before "!g:c" nor "*:a"
+        assertTrue(filter.include(createArtifact("g", "b")));
+        assertFalse(filter.include(createArtifact("g", "c")));
+        assertTrue(filter.include(createArtifact("g", "a")));
+
+        Map<String, Long> hits = filter.getStatistics().getCriterionHits();
+        assertEquals(Long.valueOf(1), hits.get("*:a"));
+        assertEquals(Long.valueOf(1), hits.get("!g:c"));
+        assertEquals(Long.valueOf(0), hits.get("g:b*"));
+        assertEquals(Long.valueOf(5001), hits.get("*:b"));
+    }
+
+    private static Artifact createArtifact(String groupId, String artifactId) {
+        Artifact artifact = mock(Artifact.class);
+        when(artifact.getGroupId()).thenReturn(groupId);
+        when(artifact.getArtifactId()).thenReturn(artifactId);
+        when(artifact.getType()).thenReturn("jar");
+        when(artifact.getBaseVersion()).thenReturn("1.0");
+        when(artifact.getId()).thenReturn(groupId + ":" + artifactId + ":jar:1.0");
+        return artifact;
+    }
+
+    private static List<Artifact> createGroupArtifacts() {
+        List<Artifact> artifacts = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            for (String artifactId : Arrays.asList("artifact", "other", "third")) {
+                Artifact artifact = mock(Artifact.class);
+                when(artifact.getGroupId()).thenReturn("group" + (i % 3));
+                when(artifact.getArtifactId()).thenReturn(artifactId);
+                when(artifact.getType()).thenReturn("jar");
+                when(artifact.getBaseVersion()).thenReturn("1.0");
+                when(artifact.getId()).thenReturn("group" + (i % 3) + ":" + artifactId + ":jar:1.0");
+                artifacts.add(artifact);
+            }
+        }
+        return artifacts;
+    }
 }
@@ -18,15 +18,24 @@
  */
 package org.apache.maven.shared.artifact.filter;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
 import org.apache.maven.artifact.versioning.VersionRange;
 import org.apache.maven.plugin.testing.ArtifactStubFactory;
 import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class ScopeArtifactFilterTest {
@@ -269,6 +278,138 @@ class ScopeArtifactFilterTest {
         verifyExcluded(scope, Artifact.SCOPE_TEST);
     }
 
+    @Test
+    void checkIncludeAllShouldMatchIncludeOfEachArtifact() {
+        List<Artifact> artifacts = new ArrayList<>();
+        for (String scope : Arrays.asList(
+                Artifact.SCOPE_COMPILE,
+                Artifact.SCOPE_COMPILE,
+                Artifact.SCOPE_TEST,
+                null,
+                Artifact.SCOPE_TEST,
+                Artifact.SCOPE_SYSTEM,
+                Artifact.SCOPE_SYSTEM)) {
+            artifacts.add(createMockArtifact(scope));
+        }
+
+        ScopeArtifactFilter filter = new ScopeArtifactFilter(Artifact.SCOPE_RUNTIME);
+        ScopeArtifactFilter batchFilter = new ScopeArtifactFilter(Artifact.SCOPE_RUNTIME);
+        BitSet included = new BitSet();
+        batchFilter.includeAll(artifacts, included);
+
+        for (int i = 0; i < artifacts.size(); i++) {
+            assertEquals(filter.include(artifacts.get(i)), included.get(i), "Artifact at index " + i);
+        }
+        assertEquals(filter.hasMissedCriteria(), batchFilter.hasMissedCriteria());
+    }
+
+    @Test
+    void checkScopesHitFromSeveralThreadsShouldAllBeReported() throws Exception {
+        ScopeArtifactFilter filter = new ScopeArtifactFilter(Artifact.SCOPE_COMPILE);
+        List<Thread> threads = new ArrayList<>();
+        for (String scope : Arrays.asList(
+                null,
+                Artifact.SCOPE_COMPILE,
+                Artifact.SCOPE_RUNTIME,
+                Artifact.SCOPE_TEST,
+                Artifact.SCOPE_PROVIDED,
+                Artifact.SCOPE_SYSTEM)) {
+            Artifact artifact = createMockArtifact(scope);
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    filter.include(artifact);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertFalse(filter.hasMissedCriteria());
+    }
+
+    @Test
+    void checkResetShouldKeepNullScopeHit() {
+        ScopeArtifactFilter filter = new ScopeArtifactFilter(Artifact.SCOPE_TEST);
+        for (String scope : Arrays.asList(
+                null,
+                Artifact.SCOPE_COMPILE,
+                Artifact.SCOPE_RUNTIME,
+                Artifact.SCOPE_TEST,
+                Artifact.SCOPE_PROVIDED,
+                Artifact.SCOPE_SYSTEM)) {
+            filter.include(createMockArtifact(scope));
+        }
+        assertFalse(filter.hasMissedCriteria());
+
+        filter.reset();
+        assertTrue(filter.hasMissedCriteria());
+        for (String scope : Arrays.asList(
+                Artifact.SCOPE_COMPILE,
+                Artifact.SCOPE_RUNTIME,
+                Artifact.SCOPE_TEST,
+                Artifact.SCOPE_PROVIDED,
+                Artifact.SCOPE_SYSTEM)) {
+            filter.include(createMockArtifact(scope));
+        }
+        assertFalse(filter.hasMissedCriteria());
+    }
+
+    @Test
+    void checkUnknownScopeShouldBeIncluded() {
+        ScopeArtifactFilter filter = new ScopeArtifactFilter();
+        filter.setIncludeNullScope(false);
+
+        verifyIncluded(filter, "import");
+        verifyExcluded(filter, null);
+    }
+
+    @Test
+    void checkFilteredArtifactIdsShouldOnlyBeFormattedWhenReported() {
+        ScopeArtifactFilter filter = new ScopeArtifactFilter(Artifact.SCOPE_COMPILE);
+        assertEquals(ReportingPolicy.FULL, filter.getReportingPolicy());
+
+        Artifact artifact = createMockArtifact(Artifact.SCOPE_TEST);
+        assertFalse(filter.include(artifact));
+        verify(artifact, never()).getId();
+
+        Logger logger = mock(Logger.class);
+        when(logger.isDebugEnabled()).thenReturn(true);
+        filter.setReportingPolicy(ReportingPolicy.OFF);
+        assertFalse(filter.include(artifact));
+        filter.reportFilteredArtifacts(logger);
+        verify(artifact, never()).getId();
+
+        filter.setReportingPolicy(ReportingPolicy.FULL);
+        assertFalse(filter.include(artifact));
+        filter.reportFilteredArtifacts(logger);
+        verify(artifact).getId();
+    }
+
+    @Test
+    void checkStatisticsShouldCountArtifactsByScope() {
+        ScopeArtifactFilter filter = new ScopeArtifactFilter(Artifact.SCOPE_RUNTIME);
+        for (String scope : Arrays.asList(
+                Artifact.SCOPE_COMPILE, Artifact.SCOPE_COMPILE, Artifact.SCOPE_TEST, null, "import")) {
+            filter.include(createMockArtifact(scope));
+        }
+
+        FilterStatistics statistics = filter.getStatistics();
+        assertEquals(5, statistics.getEvaluations());
+        assertEquals(1, statistics.getRejections());
+        assertEquals(Long.valueOf(2), statistics.getCriterionHits().get("compile"));
+        assertEquals(Long.valueOf(1), statistics.getCriterionHits().get("test"));
+        assertEquals(Long.valueOf(1), statistics.getCriterionHits().get("null"));
+        assertEquals(Long.valueOf(1), statistics.getCriterionHits().get("other"));
+        assertEquals(Long.valueOf(0), statistics.getCriterionHits().get("system"));
+
+        filter.reset();
+        assertEquals(0, filter.getStatistics().getEvaluations());
+    }
+
     private void verifyIncluded(String filterScope, String artifactScope) {
         Artifact artifact = createMockArtifact(artifactScope);
 
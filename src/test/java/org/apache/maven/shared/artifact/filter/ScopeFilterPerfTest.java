@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+public class ScopeFilterPerfTest {
+
+    @State(Scope.Benchmark)
+    public static class ScopeState {
+
+        @Param({"compile", "runtime", "test"})
+        private String scope;
+
+        Artifact[] artifacts;
+        OldScopeArtifactFilter oldFilter;
+        ScopeArtifactFilter newFilter;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            // scopes as found in a typical project graph: mostly compile, then test, runtime and provided
+            Random random = new Random(42);
+            artifacts = new Artifact[1000];
+            for (int i = 0; i < artifacts.length; i++) {
+                int draw = random.nextInt(100);
+                String artifactScope;
+                if (draw < 60) {
+                    artifactScope = Artifact.SCOPE_COMPILE;
+                } else if (draw < 80) {
+                    artifactScope = Artifact.SCOPE_TEST;
+                } else if (draw < 90) {
+                    artifactScope = Artifact.SCOPE_RUNTIME;
+                } else if (draw < 97) {
+                    artifactScope = Artifact.SCOPE_PROVIDED;
+                } else if (draw < 98) {
+                    artifactScope = Artifact.SCOPE_SYSTEM;
+                } else {
+                    artifactScope = null;
+                }
+                artifacts[i] = new DefaultArtifact("groupId", "artifact-" + i, "1.0", artifactScope, "jar", "", null);
+            }
+            oldFilter = new OldScopeArtifactFilter(getScope());
+            newFilter = new ScopeArtifactFilter(getScope());
+        }
+
+        /**
+         * Forgets the filtered artifacts, which would otherwise pile up across invocations.
+         */
+        @Setup(Level.Invocation)
+        public void reset() {
+            oldFilter.reset();
+            newFilter.reset();
+        }
+
+        public String getScope() {
+            return scope;
+        }
+
+        public void setScope(String scope) {
+            this.scope = scope;
+        }
+    }
+
+    @Benchmark
+    public int newScopeTest(ScopeState state) {
+        return count(state.newFilter, state.artifacts);
+    }
+
+    @Benchmark
+    public int oldScopeTest(ScopeState state) {
+        return count(state.oldFilter, state.artifacts);
+    }
+
+    private static int count(ArtifactFilter filter, Artifact[] artifacts) {
+        int included = 0;
+        for (Artifact artifact : artifacts) {
+            if (filter.include(artifact)) {
+                included++;
+            }
+        }
+        return included;
+    }
+
+    public static void main(String... args) throws RunnerException {
+        Options opts = new OptionsBuilder()
+                .measurementIterations(3)
+                .measurementTime(TimeValue.milliseconds(3000))
+                .forks(1)
+                .include("org.apache.maven.shared.artifact.filter.ScopeFilterPerfTest")
+                .build();
+        new Runner(opts).run();
+    }
+}
@@ -18,8 +18,17 @@
  */
 package org.apache.maven.shared.artifact.filter;
 
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 
+import org.apache.maven.artifact.Artifact;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 /**
  * Tests <code>StrictPatternIncludesArtifactFilter</code>.
  *
@@ -33,4 +42,24 @@ public class StrictPatternIncludesArtifactFilterTest extends AbstractStrictPatte
     protected AbstractStrictPatternArtifactFilter createFilter(List<String> patterns) {
         return new StrictPatternIncludesArtifactFilter(patterns);
     }
+
+    @Test
+    public void checkIncludeAllUsesOverriddenInclude() {
+        StrictPatternIncludesArtifactFilter filter =
+                new StrictPatternIncludesArtifactFilter(Collections.singletonList("groupId")) {
+                    @Override
+                    public boolean include(Artifact artifact) {
+                        return !super.include(artifact);
+                    }
+                };
+        List<Artifact> artifacts = Arrays.asList(
+                createArtifact("groupId", "artifactId", "type", "1.0"),
+                createArtifact("other", "artifactId", "type", "1.0"));
+
+        BitSet included = new BitSet();
+        filter.includeAll(artifacts, included);
+
+        assertFalse(included.get(0));
+        assertTrue(included.get(1));
+    }
 }
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter;
+
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VersionRangeMatcherTest {
+    @Test
+    void parsesEachVersionOnce() throws Exception {
+        VersionRangeMatcher matcher = new VersionRangeMatcher(VersionRange.createFromVersionSpec("[1.0,2.0)"));
+
+        assertTrue(matcher.containsVersion("1.2.3"));
+        assertTrue(matcher.containsVersion("1.2.3"));
+        assertFalse(matcher.containsVersion("2.0"));
+        assertFalse(matcher.containsVersion("2.0"));
+
+        assertEquals(2, matcher.getMissCount());
+        assertEquals(2, matcher.getHitCount());
+    }
+
+    @Test
+    void nullVersionDoesNotParse() throws Exception {
+        VersionRangeMatcher matcher = new VersionRangeMatcher(VersionRange.createFromVersionSpec("[1.0,2.0)"));
+
+        assertThrows(NullPointerException.class, () -> matcher.containsVersion(null));
+        assertEquals(0, matcher.getMissCount());
+    }
+}
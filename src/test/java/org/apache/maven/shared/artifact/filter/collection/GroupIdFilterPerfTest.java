@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter.collection;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+public class GroupIdFilterPerfTest {
+
+    @State(Scope.Benchmark)
+    public static class GroupIdState {
+
+        @Param({"15", "1500"})
+        private int prefixCount;
+
+        @Param({"15000"})
+        private int artifactCount;
+
+        Set<Artifact> artifacts;
+        GroupIdFilter trieFilter;
+        GroupIdFilter linearFilter;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            List<String> excludes = new ArrayList<>();
+            for (int i = 0; i < prefixCount; i++) {
+                // half of the prefixes end inside a segment, the others on a dot
+                excludes.add("org.example.vendor" + i + (i % 2 == 0 ? ".lib" : "."));
+            }
+            artifacts = new LinkedHashSet<>();
+            for (int i = 0; i < artifactCount; i++) {
+                String groupId = "org.example.vendor" + (i % (2 * prefixCount)) + ".library" + (i % 7);
+                artifacts.add(new DefaultArtifact(groupId, "artifact-" + i, "1.0", "compile", "jar", "", null));
+            }
+            trieFilter = new GroupIdFilter(null, String.join(",", excludes));
+            linearFilter = new GroupIdFilter(null, String.join(",", excludes)) {
+                @Override
+                protected boolean compareFeatures(String lhs, String rhs) {
+                    // overriding the comparison falls back to scanning the prefixes
+                    return lhs.startsWith(rhs);
+                }
+            };
+        }
+
+        public int getPrefixCount() {
+            return prefixCount;
+        }
+
+        public void setPrefixCount(int prefixCount) {
+            this.prefixCount = prefixCount;
+        }
+
+        public int getArtifactCount() {
+            return artifactCount;
+        }
+
+        public void setArtifactCount(int artifactCount) {
+            this.artifactCount = artifactCount;
+        }
+    }
+
+    @Benchmark
+    public Set<Artifact> prefixTrieTest(GroupIdState state) throws ArtifactFilterException {
+        return state.trieFilter.filter(state.artifacts);
+    }
+
+    @Benchmark
+    public Set<Artifact> linearScanTest(GroupIdState state) throws ArtifactFilterException {
+        return state.linearFilter.filter(state.artifacts);
+    }
+
+    public static void main(String... args) throws RunnerException {
+        Options opts = new OptionsBuilder()
+                .measurementIterations(3)
+                .measurementTime(TimeValue.milliseconds(3000))
+                .forks(1)
+                .include("org.apache.maven.shared.artifact.filter.collection.GroupIdFilterPerfTest")
+                .build();
+        new Runner(opts).run();
+    }
+}
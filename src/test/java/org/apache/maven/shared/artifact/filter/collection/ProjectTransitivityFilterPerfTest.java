@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter.collection;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+public class ProjectTransitivityFilterPerfTest {
+
+    @State(Scope.Benchmark)
+    public static class TransitivityState {
+
+        @Param({"30", "300"})
+        private int directDependencyCount;
+
+        @Param({"15000"})
+        private int artifactCount;
+
+        Set<Artifact> directDependencies;
+        Set<Artifact> artifacts;
+        ProjectTransitivityFilter filter;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            directDependencies = new LinkedHashSet<>();
+            artifacts = new LinkedHashSet<>();
+            for (int i = 0; i < artifactCount; i++) {
+                // resolved artifacts are equal to, but not the same instances as, the direct dependencies
+                artifacts.add(createArtifact(i));
+                if (i % (artifactCount / directDependencyCount) == 0) {
+                    directDependencies.add(createArtifact(i));
+                }
+            }
+            filter = new ProjectTransitivityFilter(directDependencies, true, true);
+        }
+
+        private static Artifact createArtifact(int i) {
+            return new DefaultArtifact(
+                    "org.example.group" + (i % 50), "artifact-" + i, "1.0", "compile", "jar", "", null);
+        }
+
+        public int getDirectDependencyCount() {
+            return directDependencyCount;
+        }
+
+        public void setDirectDependencyCount(int directDependencyCount) {
+            this.directDependencyCount = directDependencyCount;
+        }
+
+        public int getArtifactCount() {
+            return artifactCount;
+        }
+
+        public void setArtifactCount(int artifactCount) {
+            this.artifactCount = artifactCount;
+        }
+    }
+
+    @Benchmark
+    public Set<Artifact> indexedFilterTest(TransitivityState state) {
+        return state.filter.filter(state.artifacts);
+    }
+
+    /**
+     * The former implementation, scanning the direct dependencies for each artifact.
+     */
+    @Benchmark
+    public Set<Artifact> linearScanTest(TransitivityState state) {
+        Set<Artifact> result = new LinkedHashSet<>();
+        for (Artifact artifact : state.artifacts) {
+            for (Artifact dependency : state.directDependencies) {
+                if (dependency.equals(artifact)) {
+                    result.add(artifact);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    public static void main(String... args) throws RunnerException {
+        Options opts = new OptionsBuilder()
+                .measurementIterations(3)
+                .measurementTime(TimeValue.milliseconds(3000))
+                .forks(1)
+                .include("org.apache.maven.shared.artifact.filter.collection.ProjectTransitivityFilterPerfTest")
+                .build();
+        new Runner(opts).run();
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugin.testing.ArtifactStubFactory;
+import org.apache.maven.project.DefaultProjectBuildingRequest;
+import org.apache.maven.project.DependencyResolutionResult;
+import org.apache.maven.project.ProjectBuilder;
+import org.apache.maven.project.ProjectBuildingException;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.project.ProjectBuildingResult;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.Dependency;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TestArtifactTransitivityFilter {
+    private ArtifactStubFactory factory;
+
+    private Artifact artifact;
+
+    private ProjectBuildingRequest buildingRequest;
+
+    private ProjectBuilder projectBuilder;
+
+    private ProjectBuildingResult buildingResult;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        factory = new ArtifactStubFactory();
+        artifact = factory.createArtifact("group", "artifact", "1.0");
+
+        buildingRequest = new DefaultProjectBuildingRequest();
+        buildingRequest.setRepositorySession(new DefaultRepositorySystemSession());
+
+        DependencyResolutionResult resolutionResult = mock(DependencyResolutionResult.class);
+        when(resolutionResult.getDependencies())
+                .thenReturn(Arrays.asList(
+                        new Dependency(new DefaultArtifact("group:dependency:jar:1.0"), "compile"),
+                        new Dependency(new DefaultArtifact("group:transitive:jar:2.0"), "runtime")));
+        buildingResult = mock(ProjectBuildingResult.class);
+        when(buildingResult.getDependencyResolutionResult()).thenReturn(resolutionResult);
+
+        projectBuilder = mock(ProjectBuilder.class);
+        when(projectBuilder.build(any(Artifact.class), any(ProjectBuildingRequest.class)))
+                .thenReturn(buildingResult);
+    }
+
+    @Test
+    void checkFilterKeepsOnlyDependenciesOfArtifact() throws Exception {
+        Set<Artifact> artifacts = new LinkedHashSet<>();
+        artifacts.add(factory.createArtifact("group", "dependency", "1.0"));
+        artifacts.add(factory.createArtifact("group", "other", "1.0"));
+        artifacts.add(factory.createArtifact("group", "transitive", "3.0"));
+
+        ArtifactTransitivityFilter filter = new ArtifactTransitivityFilter(artifact, buildingRequest, projectBuilder);
+        Set<Artifact> result = filter.filter(artifacts);
+
+        assertEquals(2, result.size());
+        for (Artifact dependency : result) {
+            assertTrue(filter.artifactIsATransitiveDependency(dependency));
+        }
+    }
+
+    @Test
+    void checkDependenciesAreSharedWithinSession() throws Exception {
+        new ArtifactTransitivityFilter(artifact, buildingRequest, projectBuilder);
+        new ArtifactTransitivityFilter(
+                factory.createArtifact("group", "artifact", "1.0"),
+                new DefaultProjectBuildingRequest(buildingRequest),
+                projectBuilder);
+
+        verify(projectBuilder, times(1)).build(any(Artifact.class), any(ProjectBuildingRequest.class));
+
+        // another version, another request and another session are resolved again
+        new ArtifactTransitivityFilter(
+                factory.createArtifact("group", "artifact", "2.0"), buildingRequest, projectBuilder);
+
+        ProjectBuildingRequest otherRequest = new DefaultProjectBuildingRequest(buildingRequest);
+        otherRequest.setActiveProfileIds(Arrays.asList("profile"));
+        new ArtifactTransitivityFilter(artifact, otherRequest, projectBuilder);
+
+        ProjectBuildingRequest otherSession = new DefaultProjectBuildingRequest(buildingRequest);
+        otherSession.setRepositorySession(new DefaultRepositorySystemSession());
+        new ArtifactTransitivityFilter(artifact, otherSession, projectBuilder);
+
+        verify(projectBuilder, times(4)).build(any(Artifact.class), any(ProjectBuildingRequest.class));
+    }
+
+    @Test
+    void checkFailuresAreNotShared() throws Exception {
+        AtomicInteger builds = new AtomicInteger();
+        when(projectBuilder.build(any(Artifact.class), any(ProjectBuildingRequest.class)))
+                .thenAnswer(invocation -> {
+                    if (builds.incrementAndGet() == 1) {
+                        throw new ProjectBuildingException("group:artifact:1.0", "failure", (Throwable) null);
+                    }
+                    return buildingResult;
+                });
+
+        assertThrows(
+                ProjectBuildingException.class,
+                () -> new ArtifactTransitivityFilter(artifact, buildingRequest, projectBuilder));
+
+        ArtifactTransitivityFilter filter = new ArtifactTransitivityFilter(artifact, buildingRequest, projectBuilder);
+        assertTrue(filter.artifactIsATransitiveDependency(factory.createArtifact("group", "dependency", "1.0")));
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    void checkConcurrentFiltersResolveDependenciesOnce() throws Exception {
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger builds = new AtomicInteger();
+        when(projectBuilder.build(any(Artifact.class), any(ProjectBuildingRequest.class)))
+                .thenAnswer(invocation -> {
+                    builds.incrementAndGet();
+                    building.countDown();
+                    release.await(10, TimeUnit.SECONDS);
+                    return buildingResult;
+                });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<ArtifactTransitivityFilter>> filters = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                filters.add(executor.submit(
+                        () -> new ArtifactTransitivityFilter(artifact, buildingRequest, projectBuilder)));
+            }
+            building.await(10, TimeUnit.SECONDS);
+            release.countDown();
+
+            for (Future<ArtifactTransitivityFilter> filter : filters) {
+                assertTrue(filter.get()
+                        .artifactIsATransitiveDependency(factory.createArtifact("group", "transitive", "2.0")));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, builds.get());
+    }
+}
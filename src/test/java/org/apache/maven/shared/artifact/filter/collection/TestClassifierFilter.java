@@ -18,6 +18,7 @@
  */
 package org.apache.maven.shared.artifact.filter.collection;
 
+import java.util.Collections;
 import java.util.Set;
 
 import org.apache.maven.artifact.Artifact;
@@ -25,6 +26,8 @@ import org.apache.maven.plugin.testing.ArtifactStubFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -66,4 +69,25 @@ class TestClassifierFilter extends AbstractArtifactFeatureFilterTest {
     public void checkFiltering3() throws Exception {
         filtering3();
     }
+
+    @Test
+    void checkIsArtifactIncludedWithOverriddenFilter() throws Exception {
+        ClassifierFilter filter = new ClassifierFilter("one,two", null) {
+            @Override
+            public Set<Artifact> filter(Set<Artifact> artifacts) {
+                return Collections.emptySet();
+            }
+        };
+
+        for (Artifact artifact : artifacts) {
+            assertFalse(filter.isArtifactIncluded(artifact));
+        }
+
+        filter = new ClassifierFilter("one,two", "two");
+        Set<Artifact> result = filter.filter(artifacts);
+        assertEquals(1, result.size());
+        for (Artifact artifact : artifacts) {
+            assertEquals(result.contains(artifact), filter.isArtifactIncluded(artifact));
+        }
+    }
 }
@@ -20,7 +20,10 @@ package org.apache.maven.shared.artifact.filter.collection;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.commons.io.FileUtils;
@@ -29,7 +32,13 @@ import org.apache.maven.plugin.testing.ArtifactStubFactory;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * @author <a href="mailto:brianf@apache.org">Brian Fox</a>
@@ -115,4 +124,98 @@ class TestFilterArtifacts {
         results = fa.filter(artifacts);
         assertEquals(2, results.size());
     }
+
+    @Test
+    void checkPipelinedFilterMatchesSequentialFilter() throws Exception {
+        ArtifactStubFactory fact = new ArtifactStubFactory();
+        String[] scopes = {"compile", "runtime", "test", "provided"};
+        String[] types = {"jar", "war", "pom"};
+        Set<Artifact> artifacts = new LinkedHashSet<>();
+        for (int i = 0; i < 5000; i++) {
+            artifacts.add(fact.createArtifact(
+                    "group" + (i % 7), "artifact" + i, "1.0", scopes[i % scopes.length], types[i % types.length], ""));
+        }
+
+        // keeps every other artifact, so it depends on the whole set and is never fused
+        ArtifactsFilter everyOther = new AbstractArtifactsFilter() {
+            public Set<Artifact> filter(Set<Artifact> artifacts) {
+                Set<Artifact> result = new LinkedHashSet<>();
+                int i = 0;
+                for (Artifact artifact : artifacts) {
+                    if (i++ % 2 == 0) {
+                        result.add(artifact);
+                    }
+                }
+                return result;
+            }
+        };
+        List<ArtifactsFilter> filters = Arrays.asList(
+                new ScopeFilter("test", null),
+                new TypeFilter(null, "war"),
+                new GroupIdFilter("group1,group2,group3,group4", null),
+                new ArtifactIdFilter(null, "artifact1"),
+                everyOther,
+                new ScopeFilter(null, "provided"));
+
+        assertPipelinedFilterMatchesSequentialFilter(artifacts, filters);
+
+        // the group id filter fails on a null group id and is skipped altogether
+        Artifact noGroupId = mock(Artifact.class);
+        when(noGroupId.getScope()).thenReturn("compile");
+        when(noGroupId.getType()).thenReturn("jar");
+        artifacts.add(noGroupId);
+
+        assertPipelinedFilterMatchesSequentialFilter(artifacts, filters);
+    }
+
+    @Test
+    void checkPipelinedFilterFailsAsSequentialFilter() throws Exception {
+        ArtifactStubFactory fact = new ArtifactStubFactory();
+        Set<Artifact> artifacts = new LinkedHashSet<>();
+        for (int i = 0; i < 5000; i++) {
+            artifacts.add(fact.createArtifact("group", "artifact" + i, "1.0"));
+        }
+
+        FilterArtifacts fa = new FilterArtifacts();
+        fa.setPipelined(true);
+        fa.addFilter(new TypeFilter("jar", null));
+        fa.addFilter(new ScopeFilter("invalid", null));
+
+        ArtifactFilterException e = assertThrows(ArtifactFilterException.class, () -> fa.filter(artifacts));
+        assertEquals("Invalid Scope in includeScope: invalid", e.getMessage());
+    }
+
+    @Test
+    void checkPipelinedFilterPropagatesFilterFailure() throws Exception {
+        ArtifactStubFactory fact = new ArtifactStubFactory();
+        Set<Artifact> artifacts = new LinkedHashSet<>();
+        for (int i = 0; i < 5000; i++) {
+            artifacts.add(fact.createArtifact("group", "artifact" + i, "1.0"));
+        }
+        Artifact failing = mock(Artifact.class);
+        when(failing.getType()).thenThrow(new IllegalStateException("no type"));
+        artifacts.add(failing);
+
+        FilterArtifacts fa = new FilterArtifacts();
+        fa.setPipelined(true);
+        fa.addFilter(new TypeFilter("jar", null));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> fa.filter(artifacts));
+        assertEquals("no type", e.getMessage());
+        // the set is not filtered again sequentially
+        verify(failing, times(1)).getType();
+    }
+
+    private void assertPipelinedFilterMatchesSequentialFilter(Set<Artifact> artifacts, List<ArtifactsFilter> filters)
+            throws ArtifactFilterException {
+        FilterArtifacts sequential = new FilterArtifacts();
+        sequential.setFilters(filters);
+        FilterArtifacts pipelined = new FilterArtifacts();
+        pipelined.setFilters(filters);
+        pipelined.setPipelined(true);
+
+        List<Artifact> expected = new ArrayList<>(sequential.filter(artifacts));
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, new ArrayList<>(pipelined.filter(artifacts)));
+    }
 }
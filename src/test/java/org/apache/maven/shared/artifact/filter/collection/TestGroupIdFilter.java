@@ -18,6 +18,8 @@
  */
 package org.apache.maven.shared.artifact.filter.collection;
 
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import org.apache.maven.artifact.Artifact;
@@ -110,4 +112,48 @@ class TestGroupIdFilter extends AbstractArtifactFeatureFilterTest {
 
         assertEquals(2, result.size());
     }
+
+    @Test
+    void checkOverlappingPrefixes() throws Exception {
+        ArtifactStubFactory factory = new ArtifactStubFactory(null, false);
+        Set<Artifact> artifacts = new LinkedHashSet<>();
+        for (String groupId : Arrays.asList("org", "org.apache", "org.apache.maven", "org.apachex", "com.acme")) {
+            artifacts.add(factory.createArtifact(groupId, "artifact", "1.0"));
+        }
+
+        assertEquals(4, new GroupIdFilter("org.apache.maven,org", null).filter(artifacts).size());
+        assertEquals(3, new GroupIdFilter("org.apache.maven,org.apache,org.", null).filter(artifacts).size());
+        assertEquals(1, new GroupIdFilter(null, "org.apache.maven,org.apache,com").filter(artifacts).size());
+        assertEquals(5, new GroupIdFilter(",org.apache", null).filter(artifacts).size());
+        assertEquals(0, new GroupIdFilter("net,org.apache.maven.plugins", null).filter(artifacts).size());
+    }
+
+    @Test
+    void checkPrefixesEndingWithinSegments() throws Exception {
+        ArtifactStubFactory factory = new ArtifactStubFactory(null, false);
+        Set<Artifact> artifacts = new LinkedHashSet<>();
+        for (String groupId : Arrays.asList("com.acme", "com.acme.util", "com.acmecorp", "com.ac", "org.acme")) {
+            artifacts.add(factory.createArtifact(groupId, "artifact", "1.0"));
+        }
+
+        assertEquals(3, new GroupIdFilter("com.acm", null).filter(artifacts).size());
+        assertEquals(1, new GroupIdFilter("com.acme.", null).filter(artifacts).size());
+        assertEquals(1, new GroupIdFilter(null, "com.acme.,com.a").filter(artifacts).size());
+        assertEquals(2, new GroupIdFilter("com.acme.util.x,com.acmec,org", null).filter(artifacts).size());
+    }
+
+    @Test
+    void checkCustomFeatureComparison() throws Exception {
+        ArtifactsFilter filter = new GroupIdFilter("one,tw", null) {
+            @Override
+            protected boolean compareFeatures(String lhs, String rhs) {
+                return lhs.equals(rhs);
+            }
+        };
+
+        Set<Artifact> result = filter.filter(artifacts);
+
+        assertEquals(1, result.size());
+        assertEquals("one", result.iterator().next().getGroupId());
+    }
 }
@@ -18,6 +18,7 @@
  */
 package org.apache.maven.shared.artifact.filter.collection;
 
+import java.util.Collections;
 import java.util.Set;
 
 import org.apache.maven.artifact.Artifact;
@@ -28,6 +29,7 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
 
 /**
  * @author <a href="mailto:brianf@apache.org">Brian Fox</a>
@@ -78,4 +80,57 @@ class TestProjectTransitivityFilter {
         Set<Artifact> result = filter.filter(artifacts);
         assertEquals(4, result.size());
     }
+
+    @Test
+    void checkEqualArtifactsAreDirectDependencies() throws Exception {
+        ArtifactStubFactory fact = new ArtifactStubFactory(null, false);
+        for (boolean indexed : new boolean[] {false, true}) {
+            ProjectTransitivityFilter filter = new ProjectTransitivityFilter(directArtifacts, true, indexed);
+
+            assertTrue(filter.artifactIsADirectDependency(fact.createArtifact("testGroupId", "release", "1.0")));
+            assertFalse(filter.artifactIsADirectDependency(fact.createArtifact("testGroupId", "release", "2.0")));
+            assertFalse(filter.artifactIsADirectDependency(fact.createArtifact("testGroupId", "other", "1.0")));
+            assertFalse(filter.artifactIsADirectDependency(fact.createArtifact("otherGroupId", "release", "1.0")));
+            assertFalse(filter.artifactIsADirectDependency(null));
+        }
+    }
+
+    @Test
+    void checkDirectDependenciesChangesReflectedUnlessIndexed() throws Exception {
+        ArtifactStubFactory fact = new ArtifactStubFactory(null, false);
+        Artifact added = fact.createArtifact("testGroupId", "added", "1.0");
+        ProjectTransitivityFilter filter = new ProjectTransitivityFilter(directArtifacts, true);
+        ProjectTransitivityFilter indexedFilter = new ProjectTransitivityFilter(directArtifacts, true, true);
+
+        directArtifacts.add(added);
+
+        assertTrue(filter.artifactIsADirectDependency(added));
+        assertFalse(indexedFilter.artifactIsADirectDependency(added));
+    }
+
+    @Test
+    void checkDirectDependenciesWithCustomEquals() {
+        Artifact dependency = mock(Artifact.class);
+        ProjectTransitivityFilter filter = new ProjectTransitivityFilter(Collections.singleton(dependency), true, true);
+
+        Set<Artifact> result = filter.filter(artifacts);
+        assertTrue(result.isEmpty());
+
+        artifacts.add(dependency);
+        result = filter.filter(artifacts);
+        assertEquals(Collections.singleton(dependency), result);
+    }
+
+    @Test
+    void checkIsArtifactIncluded() throws Exception {
+        ProjectTransitivityFilter filter = new ProjectTransitivityFilter(directArtifacts, false);
+        for (Artifact artifact : artifacts) {
+            assertTrue(filter.isArtifactIncluded(artifact));
+        }
+
+        filter.setExcludeTransitive(true);
+        for (Artifact artifact : artifacts) {
+            assertEquals(directArtifacts.contains(artifact), filter.isArtifactIncluded(artifact));
+        }
+    }
 }
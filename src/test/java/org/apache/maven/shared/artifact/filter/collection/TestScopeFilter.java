@@ -18,6 +18,7 @@
  */
 package org.apache.maven.shared.artifact.filter.collection;
 
+import java.util.Arrays;
 import java.util.Set;
 
 import org.apache.maven.artifact.Artifact;
@@ -28,6 +29,8 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 /**
@@ -165,4 +168,37 @@ class TestScopeFilter {
         assertEquals("b", filter.getIncludeScope());
         assertEquals("a", filter.getExcludeScope());
     }
+
+    @Test
+    void checkIsArtifactIncludedMatchesFilter() throws Exception {
+        String[] scopes = {
+            Artifact.SCOPE_COMPILE, Artifact.SCOPE_PROVIDED, Artifact.SCOPE_RUNTIME, Artifact.SCOPE_SYSTEM, null
+        };
+        for (String scope : scopes) {
+            for (ScopeFilter filter : Arrays.asList(new ScopeFilter(scope, null), new ScopeFilter(null, scope))) {
+                Set<Artifact> result = filter.filter(artifacts);
+                for (Artifact artifact : artifacts) {
+                    assertEquals(result.contains(artifact), filter.isArtifactIncluded(artifact));
+                }
+            }
+        }
+
+        Artifact artifact = artifacts.iterator().next();
+        assertThrows(
+                ArtifactFilterException.class,
+                () -> new ScopeFilter("cOmpile", null).isArtifactIncluded(artifact));
+        assertThrows(
+                ArtifactFilterException.class,
+                () -> new ScopeFilter(null, Artifact.SCOPE_TEST).isArtifactIncluded(artifact));
+    }
+
+    @Test
+    void checkIsArtifactIncludedAfterChangingScope() throws Exception {
+        ScopeFilter filter = new ScopeFilter(Artifact.SCOPE_COMPILE, null);
+        Artifact artifact = new ArtifactStubFactory().createArtifact("g", "a", "1.0", Artifact.SCOPE_RUNTIME);
+        assertFalse(filter.isArtifactIncluded(artifact));
+
+        filter.setIncludeScope(Artifact.SCOPE_RUNTIME);
+        assertTrue(filter.isArtifactIncluded(artifact));
+    }
 }
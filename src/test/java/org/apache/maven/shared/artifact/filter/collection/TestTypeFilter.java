@@ -105,4 +105,18 @@ class TestTypeFilter {
         assertEquals("a", resultList.get(0).getArtifactId());
         assertEquals("c", resultList.get(1).getArtifactId());
     }
+
+    @Test
+    void checkFilteringAfterChangingIncludes() {
+        TypeFilter filter = new TypeFilter("war,jar,war", null);
+        assertEquals(2, filter.filter(artifacts).size());
+
+        filter.setIncludes("zip");
+        Set<Artifact> result = filter.filter(artifacts);
+        assertEquals(1, result.size());
+        assertEquals("zip", result.iterator().next().getType());
+
+        filter.setExcludes("zip");
+        assertEquals(0, filter.filter(artifacts).size());
+    }
 }
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter.internal;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedCacheTest {
+    @Test
+    void memoizesValuesAndCountsLookups() {
+        AtomicInteger loads = new AtomicInteger();
+        BoundedCache<String, String> cache = new BoundedCache<>(10);
+
+        assertEquals("A", cache.get("a", k -> {
+            loads.incrementAndGet();
+            return k.toUpperCase();
+        }));
+        assertEquals("A", cache.get("a", k -> {
+            loads.incrementAndGet();
+            return k.toUpperCase();
+        }));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void doesNotCacheNullValues() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10);
+
+        assertNull(cache.get("a", k -> null));
+        assertEquals(0, cache.size());
+        assertNull(cache.getIfPresent("a"));
+    }
+
+    @Test
+    void evictsUnreferencedEntriesFirst() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(8);
+        for (int i = 0; i < 8; i++) {
+            cache.put(i, i);
+        }
+        // keep the first entry hot
+        cache.getIfPresent(0);
+
+        cache.put(8, 8);
+
+        assertTrue(cache.size() <= 8);
+        assertEquals(Integer.valueOf(0), cache.getIfPresent(0));
+        assertEquals(Integer.valueOf(8), cache.getIfPresent(8));
+    }
+
+    @Test
+    void removesOnlyTheGivenValue() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10);
+        String value = new String("A");
+        cache.put("a", value);
+
+        assertFalse(cache.remove("a", new String("A")));
+        assertFalse(cache.remove("b", value));
+        assertTrue(cache.remove("a", value));
+        assertNull(cache.getIfPresent("a"));
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter.internal;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Parses the dependency trail elements of a synthetic graph into coordinates, as a cache of parsed elements would
+ * retain them, with and without interning. Run with the GC profiler, {@code gc.alloc.rate.norm} gives the bytes
+ * allocated per graph; {@link #main(String...)} also prints the heap retained by the coordinates of each.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+public class CoordinateInternerPerfTest {
+
+    @State(Scope.Benchmark)
+    public static class GraphState {
+
+        @Param({"50000"})
+        private int artifactCount;
+
+        String[] trailItems;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            trailItems = createTrailItems(artifactCount);
+        }
+
+        public int getArtifactCount() {
+            return artifactCount;
+        }
+
+        public void setArtifactCount(int artifactCount) {
+            this.artifactCount = artifactCount;
+        }
+    }
+
+    @Benchmark
+    public String[][] substringTest(GraphState state) {
+        return parse(state.trailItems, false);
+    }
+
+    @Benchmark
+    public String[][] internedTest(GraphState state) {
+        return parse(state.trailItems, true);
+    }
+
+    /**
+     * Creates the trail elements of a graph of 500 groups, mostly jars without classifier.
+     */
+    static String[] createTrailItems(int artifactCount) {
+        String[] types = {"jar", "jar", "jar", "jar", "jar", "jar", "pom", "test-jar", "war", "jar"};
+        String[] classifiers = {null, null, null, null, null, null, null, "sources", "tests", "jdk8"};
+        String[] trailItems = new String[artifactCount];
+        for (int i = 0; i < artifactCount; i++) {
+            String classifier = classifiers[(i / 10) % classifiers.length];
+            trailItems[i] = "org.example.group" + (i % 500) + ":artifact-" + i + ":" + types[i % types.length] + ":"
+                    + (classifier != null ? classifier + ":" : "") + "1." + (i % 20);
+        }
+        return trailItems;
+    }
+
+    static String[][] parse(String[] trailItems, boolean interned) {
+        String[][] coordinates = new String[trailItems.length][];
+        for (int i = 0; i < trailItems.length; i++) {
+            String trailItem = trailItems[i];
+            String[] segments = new String[5];
+            int start = 0;
+            int segment = 0;
+            for (int end = 0; end <= trailItem.length() && segment < segments.length; end++) {
+                if (end == trailItem.length() || trailItem.charAt(end) == ':') {
+                    segments[segment++] = interned
+                            ? CoordinateInterner.intern(trailItem, start, end)
+                            : trailItem.substring(start, end);
+                    start = end + 1;
+                }
+            }
+            coordinates[i] = segments;
+        }
+        return coordinates;
+    }
+
+    private static long retainedBytes(String[] trailItems, boolean interned) {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+        String[][] coordinates = parse(trailItems, interned);
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        if (coordinates.length != trailItems.length) {
+            throw new IllegalStateException();
+        }
+        return after - before;
+    }
+
+    public static void main(String... args) throws RunnerException {
+        String[] trailItems = createTrailItems(50000);
+        System.out.println("retained by substrings: " + retainedBytes(trailItems, false) / 1024 + " KiB");
+        System.out.println("retained by interned coordinates: " + retainedBytes(trailItems, true) / 1024 + " KiB");
+
+        Options opts = new OptionsBuilder()
+                .measurementIterations(3)
+                .measurementTime(TimeValue.milliseconds(3000))
+                .forks(1)
+                .addProfiler(GCProfiler.class)
+                .include("org.apache.maven.shared.artifact.filter.internal.CoordinateInternerPerfTest")
+                .build();
+        new Runner(opts).run();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter.internal;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoordinateInternerTest {
+    @Test
+    void wellKnownValuesHaveSmallIds() {
+        for (String value : new String[] {"jar", "pom", "test-jar", "compile", "test", "tests", "sources"}) {
+            int id = CoordinateInterner.id(new String(value));
+            assertTrue(id > CoordinateInterner.UNKNOWN, value);
+            assertTrue(id < CoordinateInterner.size());
+            assertEquals(value, CoordinateInterner.valueOf(id));
+        }
+        assertTrue(CoordinateInterner.size() <= Long.SIZE);
+        assertEquals(CoordinateInterner.UNKNOWN, CoordinateInterner.id("org.apache.maven"));
+        assertEquals(CoordinateInterner.UNKNOWN, CoordinateInterner.id(null));
+        assertNull(CoordinateInterner.valueOf(CoordinateInterner.UNKNOWN));
+        assertThrows(IllegalArgumentException.class, () -> CoordinateInterner.valueOf(CoordinateInterner.size()));
+    }
+
+    @Test
+    void internsEqualValuesToOneInstance() {
+        String groupId = CoordinateInterner.intern(new String("org.example.interned"));
+
+        assertSame(groupId, CoordinateInterner.intern(new String("org.example.interned")));
+        assertSame(
+                CoordinateInterner.valueOf(CoordinateInterner.id("jar")), CoordinateInterner.intern(new String("jar")));
+        assertNull(CoordinateInterner.intern(null));
+    }
+
+    @Test
+    void internsRegionsWithoutExtractingWellKnownValues() {
+        String trailItem = "org.example.interned:artifact:jar:sources:1.0";
+
+        assertSame(CoordinateInterner.intern("jar"), CoordinateInterner.intern(trailItem, 30, 33));
+        assertSame(CoordinateInterner.intern("sources"), CoordinateInterner.intern(trailItem, 34, 41));
+        assertSame(
+                CoordinateInterner.intern(new String("org.example.interned")),
+                CoordinateInterner.intern(trailItem, 0, 20));
+        assertEquals("", CoordinateInterner.intern(trailItem, 20, 20));
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter.internal;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DependencyTrailItemTest {
+    @Test
+    void parsesFourSegments() {
+        DependencyTrailItem item = DependencyTrailItem.parse("g:a:jar:1.0");
+
+        assertEquals("g", item.getGroupId());
+        assertEquals("a", item.getArtifactId());
+        assertEquals("jar", item.getType());
+        assertNull(item.getClassifier());
+        assertEquals("1.0", item.getVersion());
+    }
+
+    @Test
+    void parsesFiveSegments() {
+        DependencyTrailItem item = DependencyTrailItem.parse("g:a:jar:tests:1.0");
+
+        assertEquals("tests", item.getClassifier());
+        assertEquals("1.0", item.getVersion());
+    }
+
+    @Test
+    void ignoresTrailingEmptySegments() {
+        DependencyTrailItem item = DependencyTrailItem.parse("g:a:jar:1.0::");
+
+        assertNull(item.getClassifier());
+        assertEquals("1.0", item.getVersion());
+    }
+
+    @Test
+    void sharesCoordinates() {
+        DependencyTrailItem item = DependencyTrailItem.parse("g:a:jar:1.0");
+
+        assertSame("jar", item.getType());
+        assertSame(item.getGroupId(), DependencyTrailItem.parse("g:b:jar:2.0").getGroupId());
+    }
+
+    @Test
+    void rejectsBadSegmentCount() {
+        assertThrows(IllegalArgumentException.class, () -> DependencyTrailItem.parse("g:a:1.0"));
+        assertThrows(IllegalArgumentException.class, () -> DependencyTrailItem.parse("g:a:jar:tests:1.0:x"));
+    }
+}
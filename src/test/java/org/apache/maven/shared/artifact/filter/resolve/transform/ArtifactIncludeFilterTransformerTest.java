@@ -18,6 +18,7 @@
  */
 package org.apache.maven.shared.artifact.filter.resolve.transform;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -40,7 +41,9 @@ import org.apache.maven.shared.artifact.filter.resolve.ScopeFilter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ArtifactIncludeFilterTransformerTest {
@@ -205,6 +208,37 @@ class ArtifactIncludeFilterTransformerTest {
         assertFalse(dependencyFilter.include(newArtifact("g:a:1.0", "compile")));
     }
 
+    @Test
+    void checkTransformAbstractFilterWithParentsFromTrail() throws Exception {
+        List<List<Node>> seenParents = new ArrayList<>();
+        AbstractFilter parentFilter = new AbstractFilter() {
+            @Override
+            public boolean accept(Node node, List<Node> parents) {
+                seenParents.add(parents);
+                return !parents.isEmpty() && "p".equals(parents.get(0).getArtifactId());
+            }
+        };
+
+        ArtifactFilter dependencyFilter = parentFilter.transform(transformer);
+
+        Artifact artifact = newArtifact("g:a:1.0", "compile");
+        artifact.setDependencyTrail(Arrays.asList("g:root:jar:1.0", "g:p:jar:tests:1.0", "g:a:jar:1.0"));
+
+        assertTrue(dependencyFilter.include(artifact));
+
+        assertFalse(dependencyFilter.include(newArtifact("g:b:1.0", "compile")));
+
+        List<Node> parents = seenParents.get(0);
+        assertEquals(2, parents.size());
+        assertEquals("g", parents.get(0).getGroupId());
+        assertEquals("tests", parents.get(0).getClassifier());
+        assertEquals("jar", parents.get(0).getType());
+        assertEquals("1.0", parents.get(0).getDependency().getVersion());
+        assertEquals("root", parents.get(1).getArtifactId());
+        assertNull(parents.get(1).getClassifier());
+        assertTrue(seenParents.get(1).isEmpty());
+    }
+
     private Artifact newArtifact(String coor, String scope) throws Exception {
         String[] gav = coor.split(":");
         return artifactFactory.createArtifact(gav[0], gav[1], gav[2], scope);
@@ -28,6 +28,7 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ArtifactIncludeNodeTest {
@@ -104,6 +105,31 @@ class ArtifactIncludeNodeTest {
         assertFalse(node.getDependency().isOptional());
     }
 
+    @Test
+    void checkCoordinatesMatchDependency() throws Exception {
+        for (Node node : new Node[] {
+            new ArtifactIncludeNode(newArtifact("g:a:v", "s")),
+            new ArtifactIncludeNode(newArtifact("g:a:pom:c:v", null, true))
+        }) {
+            Dependency dependency = node.getDependency();
+
+            assertEquals(dependency.getGroupId(), node.getGroupId());
+            assertEquals(dependency.getArtifactId(), node.getArtifactId());
+            assertEquals(dependency.getVersion(), node.getVersion());
+            assertEquals(dependency.getClassifier(), node.getClassifier());
+            assertEquals(dependency.getType(), node.getType());
+            assertEquals(dependency.getScope(), node.getScope());
+            assertEquals(dependency.isOptional(), node.isOptional());
+        }
+    }
+
+    @Test
+    void checkDependencyIsBuiltOnce() throws Exception {
+        Node node = new ArtifactIncludeNode(newArtifact("g:a:v", null));
+
+        assertSame(node.getDependency(), node.getDependency());
+    }
+
     private Artifact newArtifact(String coor, String scope) throws Exception {
         return newArtifact(coor, scope, null);
     }
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter.resolve.transform;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.shared.artifact.filter.resolve.PatternInclusionsFilter;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyFilter;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.util.filter.AndDependencyFilter;
+import org.eclipse.aether.util.filter.OrDependencyFilter;
+import org.eclipse.aether.util.filter.PatternInclusionsDependencyFilter;
+import org.eclipse.aether.util.graph.visitor.FilteringDependencyVisitor;
+import org.eclipse.aether.util.graph.visitor.PreorderNodeListGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Visits a dependency graph with the filter of classifier inclusions, as the resolver does, against the filter
+ * matching each classifier with {@link String#matches(String)}, and with the Aether pattern filters against the
+ * compiled patterns.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+public class EclipseAetherFilterPerfTest {
+
+    private static final List<String> INCLUDES =
+            Arrays.asList("org.example.*:*:*:sources:*", "org.example.*:*:*:jdk[0-9]+:*", "*:*:*:tests:*");
+
+    /**
+     * Patterns having the same meaning for the Aether pattern filters and the compiled patterns.
+     */
+    private static final List<String> PLAIN_INCLUDES =
+            Arrays.asList("org.example.*:*:*:sources:*", "org.example.*:*:*:jdk8:*", "*:*:*:tests:*", "com.acme.*");
+
+    @State(Scope.Benchmark)
+    public static class GraphState {
+
+        @Param({"10000"})
+        private int nodeCount;
+
+        DependencyNode root;
+        DependencyFilter precompiledFilter;
+        DependencyFilter regexFilter;
+        DependencyFilter aetherPatternsFilter;
+        DependencyFilter compiledPatternsFilter;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            String[] classifiers = {"", "", "", "", "sources", "tests", "jdk8", "jdk11", "javadoc", "linux-x86_64"};
+            root = new DefaultDependencyNode(new Dependency(new DefaultArtifact("org.example:root:1.0"), "compile"));
+            List<DependencyNode> parents = new ArrayList<>();
+            parents.add(root);
+            // a tree of depth 4 with a fan-out of 10
+            for (int i = 1; i < nodeCount; i++) {
+                String groupId = (i % 3 == 0 ? "com.acme" : "org.example") + ".group" + (i % 50);
+                String classifier = classifiers[i % classifiers.length];
+                DefaultArtifact artifact = new DefaultArtifact(groupId, "artifact-" + i, classifier, "jar", "1.0");
+                DependencyNode node = new DefaultDependencyNode(new Dependency(artifact, "compile"));
+                parents.get((i - 1) / 10).getChildren().add(node);
+                parents.add(node);
+            }
+            precompiledFilter = new PatternInclusionsFilter(INCLUDES).transform(new EclipseAetherFilterTransformer());
+            regexFilter = newRegexFilter(INCLUDES);
+            PatternInclusionsFilter plainInclusions = new PatternInclusionsFilter(PLAIN_INCLUDES);
+            aetherPatternsFilter = plainInclusions.transform(new EclipseAetherFilterTransformer());
+            EclipseAetherFilterTransformer compilingTransformer = new EclipseAetherFilterTransformer();
+            compilingTransformer.setCompiledPatterns(true);
+            compiledPatternsFilter = plainInclusions.transform(compilingTransformer);
+        }
+
+        public int getNodeCount() {
+            return nodeCount;
+        }
+
+        public void setNodeCount(int nodeCount) {
+            this.nodeCount = nodeCount;
+        }
+    }
+
+    @Benchmark
+    public List<DependencyNode> precompiledClassifierTest(GraphState state) {
+        return visit(state.root, state.precompiledFilter);
+    }
+
+    @Benchmark
+    public List<DependencyNode> regexClassifierTest(GraphState state) {
+        return visit(state.root, state.regexFilter);
+    }
+
+    @Benchmark
+    public List<DependencyNode> aetherPatternsTest(GraphState state) {
+        return visit(state.root, state.aetherPatternsFilter);
+    }
+
+    @Benchmark
+    public List<DependencyNode> compiledPatternsTest(GraphState state) {
+        return visit(state.root, state.compiledPatternsFilter);
+    }
+
+    private static List<DependencyNode> visit(DependencyNode root, DependencyFilter filter) {
+        PreorderNodeListGenerator nodes = new PreorderNodeListGenerator();
+        root.accept(new FilteringDependencyVisitor(nodes, filter));
+        return nodes.getNodes();
+    }
+
+    /**
+     * The filter as built without precompilation, the regular expressions are compiled for each node.
+     */
+    private static DependencyFilter newRegexFilter(List<String> includes) {
+        List<DependencyFilter> filters = new ArrayList<>(includes.size());
+        for (String include : includes) {
+            String[] segments = include.split(":");
+            String classifier = segments[3];
+            filters.add(new AndDependencyFilter(
+                    new PatternInclusionsDependencyFilter(segments[0] + ":" + segments[1] + ":" + segments[2] + ":"
+                            + segments[4]),
+                    (node, parents) -> {
+                        String nodeClassifier = node.getArtifact().getClassifier();
+                        return nodeClassifier != null && ("*".equals(classifier) || nodeClassifier.matches(classifier));
+                    }));
+        }
+        return new OrDependencyFilter(filters);
+    }
+
+    public static void main(String... args) throws RunnerException {
+        Options opts = new OptionsBuilder()
+                .measurementIterations(3)
+                .measurementTime(TimeValue.milliseconds(3000))
+                .forks(1)
+                .include("org.apache.maven.shared.artifact.filter.resolve.transform.EclipseAetherFilterPerfTest")
+                .build();
+        new Runner(opts).run();
+    }
+}
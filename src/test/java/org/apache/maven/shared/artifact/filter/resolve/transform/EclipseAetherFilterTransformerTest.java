@@ -18,6 +18,7 @@
  */
 package org.apache.maven.shared.artifact.filter.resolve.transform;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -31,6 +32,7 @@ import org.apache.maven.shared.artifact.filter.resolve.OrFilter;
 import org.apache.maven.shared.artifact.filter.resolve.PatternExclusionsFilter;
 import org.apache.maven.shared.artifact.filter.resolve.PatternInclusionsFilter;
 import org.apache.maven.shared.artifact.filter.resolve.ScopeFilter;
+import org.eclipse.aether.artifact.ArtifactProperties;
 import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.graph.DefaultDependencyNode;
 import org.eclipse.aether.graph.Dependency;
@@ -44,7 +46,10 @@ import org.eclipse.aether.util.filter.PatternInclusionsDependencyFilter;
 import org.eclipse.aether.util.filter.ScopeDependencyFilter;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class EclipseAetherFilterTransformerTest {
@@ -140,6 +145,64 @@ class EclipseAetherFilterTransformerTest {
         assertFalse(dependencyFilter.accept(newDependencyNode("x:a:v:c:*", "runtime"), Collections.emptyList()));
     }
 
+    @Test
+    void checkTransformClassifierExpressionPatternInclusionsFilter() {
+        PatternInclusionsFilter filter = new PatternInclusionsFilter(Arrays.asList("g:*:*:jdk1.8:*", "g:*:*:c:*"));
+
+        DependencyFilter dependencyFilter = filter.transform(transformer);
+
+        assertTrue(dependencyFilter.accept(newDependencyNode("g:a:v:jdk1.8:*", "runtime"), Collections.emptyList()));
+
+        // the classifier segment is a regular expression
+        assertTrue(dependencyFilter.accept(newDependencyNode("g:a:v:jdk1x8:*", "runtime"), Collections.emptyList()));
+
+        assertTrue(dependencyFilter.accept(newDependencyNode("g:a:v:c:*", "runtime"), Collections.emptyList()));
+
+        assertFalse(dependencyFilter.accept(newDependencyNode("g:a:v:cc:*", "runtime"), Collections.emptyList()));
+
+        assertFalse(dependencyFilter.accept(newDependencyNode("g:a:v:jdk1.9:*", "runtime"), Collections.emptyList()));
+    }
+
+    @Test
+    void checkTransformPatternInclusionsFilterWithCompiledPatterns() {
+        EclipseAetherFilterTransformer compilingTransformer = new EclipseAetherFilterTransformer();
+        compilingTransformer.setCompiledPatterns(true);
+        PatternInclusionsFilter filter =
+                new PatternInclusionsFilter(Arrays.asList("!g:x", "g:*", "*:*:test-jar:tests:[1.0,2.0)"));
+
+        DependencyFilter dependencyFilter = filter.transform(compilingTransformer);
+
+        assertTrue(dependencyFilter.accept(newDependencyNode("g:a:v", "runtime"), Collections.emptyList()));
+
+        assertFalse(dependencyFilter.accept(newDependencyNode("g:x:v", "runtime"), Collections.emptyList()));
+
+        assertFalse(dependencyFilter.accept(newDependencyNode("x:a:v", "runtime"), Collections.emptyList()));
+
+        // the type property is preferred over the extension
+        DependencyNode testJar = newDependencyNode("x:a:jar:tests:1.5", "test");
+        assertFalse(dependencyFilter.accept(testJar, Collections.emptyList()));
+        testJar.setArtifact(
+                testJar.getArtifact().setProperties(Collections.singletonMap(ArtifactProperties.TYPE, "test-jar")));
+        assertTrue(dependencyFilter.accept(testJar, Collections.emptyList()));
+
+        assertTrue(dependencyFilter.accept(new DefaultDependencyNode((Dependency) null), Collections.emptyList()));
+    }
+
+    @Test
+    void checkTransformPatternExclusionsFilterWithCompiledPatterns() {
+        EclipseAetherFilterTransformer compilingTransformer = new EclipseAetherFilterTransformer();
+        compilingTransformer.setCompiledPatterns(true);
+        PatternExclusionsFilter filter = new PatternExclusionsFilter(Arrays.asList("!g:x", "g:*:*:c:*"));
+
+        DependencyFilter dependencyFilter = filter.transform(compilingTransformer);
+
+        assertFalse(dependencyFilter.accept(newDependencyNode("g:a:jar:c:v", "runtime"), Collections.emptyList()));
+
+        assertTrue(dependencyFilter.accept(newDependencyNode("g:a:v", "runtime"), Collections.emptyList()));
+
+        assertTrue(dependencyFilter.accept(newDependencyNode("g:x:jar:c:v", "runtime"), Collections.emptyList()));
+    }
+
     @Test
     void checkTransformAbstractFilter() {
         AbstractFilter snapshotFilter = new AbstractFilter() {
@@ -156,6 +219,69 @@ class EclipseAetherFilterTransformerTest {
         assertFalse(dependencyFilter.accept(newDependencyNode("g:a:1.0", "compile"), Collections.emptyList()));
     }
 
+    @Test
+    void checkTransformAbstractFilterWithParents() {
+        List<List<Node>> seenParents = new ArrayList<>();
+        AbstractFilter parentFilter = new AbstractFilter() {
+            @Override
+            public boolean accept(Node node, List<Node> parents) {
+                seenParents.add(parents);
+                boolean underParent = false;
+                for (Node parent : parents) {
+                    underParent |= "p".equals(parent.getArtifactId());
+                }
+                return underParent;
+            }
+        };
+
+        DependencyFilter dependencyFilter = parentFilter.transform(transformer);
+
+        DependencyNode root = newDependencyNode("g:root:1.0", null);
+        DependencyNode parent = newDependencyNode("g:p:1.0", "compile");
+        List<DependencyNode> parents = Arrays.asList(parent, root);
+
+        assertTrue(dependencyFilter.accept(newDependencyNode("g:a:1.0", "compile"), parents));
+
+        assertFalse(dependencyFilter.accept(newDependencyNode("g:b:1.0", "compile"), Arrays.asList(root)));
+
+        assertTrue(dependencyFilter.accept(newDependencyNode("g:c:1.0", "compile"), parents));
+
+        assertEquals(2, seenParents.get(0).size());
+        assertEquals("root", seenParents.get(0).get(1).getArtifactId());
+        // the root adapted for the first node is reused for the next ones
+        assertSame(seenParents.get(0).get(1), seenParents.get(1).get(0));
+        assertSame(seenParents.get(0).get(1), seenParents.get(2).get(1));
+    }
+
+    @Test
+    void checkTransformAbstractFilterReusesParentsPerThread() throws Exception {
+        List<Node> seenRoots = Collections.synchronizedList(new ArrayList<>());
+        AbstractFilter parentFilter = new AbstractFilter() {
+            @Override
+            public boolean accept(Node node, List<Node> parents) {
+                seenRoots.add(parents.get(0));
+                return true;
+            }
+        };
+
+        DependencyFilter dependencyFilter = parentFilter.transform(transformer);
+
+        List<DependencyNode> parents = Arrays.asList(newDependencyNode("g:root:1.0", null));
+
+        assertTrue(dependencyFilter.accept(newDependencyNode("g:a:1.0", "compile"), parents));
+
+        Thread other = new Thread(() -> dependencyFilter.accept(newDependencyNode("g:b:1.0", "compile"), parents));
+        other.start();
+        other.join();
+
+        assertTrue(dependencyFilter.accept(newDependencyNode("g:c:1.0", "compile"), parents));
+
+        assertEquals(3, seenRoots.size());
+        // the other thread adapts its own parents
+        assertNotSame(seenRoots.get(0), seenRoots.get(1));
+        assertSame(seenRoots.get(0), seenRoots.get(2));
+    }
+
     private DependencyNode newDependencyNode(String string, String scope) {
         return new DefaultDependencyNode(new Dependency(new DefaultArtifact(string), scope));
     }
@@ -33,6 +33,7 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class EclipseAetherNodeTest {
@@ -105,6 +106,53 @@ class EclipseAetherNodeTest {
         assertEquals("ea", mavenExclusion.getArtifactId());
     }
 
+    @Test
+    void checkCoordinatesMatchDependency() {
+        for (Node node : new Node[] {
+            new EclipseAetherNode(newDependencyNode("g:a:v", "s")),
+            new EclipseAetherNode(newDependencyNode("g:a:jar:c:v", null, true))
+        }) {
+            org.apache.maven.model.Dependency mavenDependency = node.getDependency();
+
+            assertEquals(mavenDependency.getGroupId(), node.getGroupId());
+            assertEquals(mavenDependency.getArtifactId(), node.getArtifactId());
+            assertEquals(mavenDependency.getVersion(), node.getVersion());
+            assertEquals(mavenDependency.getClassifier(), node.getClassifier());
+            assertEquals(mavenDependency.getType(), node.getType());
+            assertEquals(mavenDependency.getScope(), node.getScope());
+            assertEquals(mavenDependency.isOptional(), node.isOptional());
+        }
+    }
+
+    @Test
+    void checkDependencyIsBuiltOnce() {
+        Node node = new EclipseAetherNode(newDependencyNode("g:a:v", null));
+
+        assertSame(node.getDependency(), node.getDependency());
+    }
+
+    @Test
+    void checkDependencyFollowsNodeChanges() {
+        DependencyNode dependencyNode = newDependencyNode("g:a:v", "compile");
+        Node node = new EclipseAetherNode(dependencyNode);
+        assertEquals("compile", node.getDependency().getScope());
+
+        dependencyNode.setScope("test");
+        dependencyNode.setOptional(true);
+
+        assertEquals("test", node.getDependency().getScope());
+        assertTrue(node.getDependency().isOptional());
+    }
+
+    @Test
+    void checkNodeWithoutDependency() {
+        Node node = new EclipseAetherNode(new DefaultDependencyNode((Dependency) null));
+
+        assertNull(node.getDependency());
+        assertNull(node.getGroupId());
+        assertFalse(node.isOptional());
+    }
+
     private DependencyNode newDependencyNode(String coor, String scope) {
         return new DefaultDependencyNode(new Dependency(new DefaultArtifact(coor), scope));
     }
@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter.resolve.transform;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.apache.maven.plugin.testing.ArtifactStubFactory;
+import org.apache.maven.shared.artifact.filter.resolve.AbstractFilter;
+import org.apache.maven.shared.artifact.filter.resolve.AndFilter;
+import org.apache.maven.shared.artifact.filter.resolve.ExclusionsFilter;
+import org.apache.maven.shared.artifact.filter.resolve.Node;
+import org.apache.maven.shared.artifact.filter.resolve.OrFilter;
+import org.apache.maven.shared.artifact.filter.resolve.PatternInclusionsFilter;
+import org.apache.maven.shared.artifact.filter.resolve.ScopeFilter;
+import org.apache.maven.shared.artifact.filter.resolve.TransformableFilter;
+import org.eclipse.aether.graph.DependencyFilter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MemoizingFilterTransformerTest {
+
+    private final ArtifactStubFactory artifactFactory = new ArtifactStubFactory();
+
+    @Test
+    void checkTransformIsMemoized() {
+        MemoizingFilterTransformer<DependencyFilter> transformer =
+                new MemoizingFilterTransformer<>(new EclipseAetherFilterTransformer());
+        ScopeFilter filter = ScopeFilter.including("compile");
+
+        DependencyFilter dependencyFilter = filter.transform(transformer);
+
+        assertSame(dependencyFilter, filter.transform(transformer));
+        assertEquals(1, transformer.getHitCount());
+        assertEquals(1, transformer.getMissCount());
+        assertEquals(1, transformer.size());
+    }
+
+    @Test
+    void checkStructurallyEqualFiltersShareTransformation() {
+        MemoizingFilterTransformer<DependencyFilter> transformer =
+                new MemoizingFilterTransformer<>(new EclipseAetherFilterTransformer());
+
+        DependencyFilter dependencyFilter = newTree("g:a").transform(transformer);
+
+        assertSame(dependencyFilter, newTree("g:a").transform(transformer));
+        assertNotSame(dependencyFilter, newTree("x:a").transform(transformer));
+        assertNotSame(dependencyFilter, ScopeFilter.including("runtime").transform(transformer));
+        assertEquals(1, transformer.getHitCount());
+        assertEquals(3, transformer.getMissCount());
+    }
+
+    @Test
+    void checkPatternFilterComparedByIdentity() {
+        MemoizingFilterTransformer<ArtifactFilter> transformer =
+                new MemoizingFilterTransformer<>(new ArtifactIncludeFilterTransformer());
+        PatternInclusionsFilter patterns = new PatternInclusionsFilter(Collections.singletonList("g:*"));
+
+        ArtifactFilter artifactFilter = newTree(patterns).transform(transformer);
+
+        assertSame(artifactFilter, newTree(patterns).transform(transformer));
+        // the transformations keep their own statistics, so equal filters built separately do not share them
+        assertNotSame(
+                artifactFilter,
+                newTree(new PatternInclusionsFilter(Collections.singletonList("g:*"))).transform(transformer));
+    }
+
+    @Test
+    void checkAbstractFilterComparedByIdentity() {
+        MemoizingFilterTransformer<DependencyFilter> transformer =
+                new MemoizingFilterTransformer<>(new EclipseAetherFilterTransformer());
+        AbstractFilter callback = newCallback();
+
+        DependencyFilter dependencyFilter = newTree(callback).transform(transformer);
+
+        assertSame(dependencyFilter, newTree(callback).transform(transformer));
+        assertNotSame(dependencyFilter, newTree(newCallback()).transform(transformer));
+    }
+
+    @Test
+    void checkKeyDoesNotFollowSourceCollection() {
+        MemoizingFilterTransformer<DependencyFilter> transformer =
+                new MemoizingFilterTransformer<>(new EclipseAetherFilterTransformer());
+        List<String> scopes = new ArrayList<>(Collections.singletonList("compile"));
+        ScopeFilter filter = ScopeFilter.including(scopes);
+
+        DependencyFilter dependencyFilter = filter.transform(transformer);
+        scopes.set(0, "test");
+
+        assertNotSame(dependencyFilter, filter.transform(transformer));
+        assertSame(dependencyFilter, ScopeFilter.including("compile").transform(transformer));
+    }
+
+    @Test
+    void checkWholeTreeTransformedByDelegate() throws Exception {
+        AtomicInteger scopeTransformations = new AtomicInteger();
+        OptimizingArtifactIncludeFilterTransformer delegate = new OptimizingArtifactIncludeFilterTransformer() {
+            @Override
+            public ArtifactFilter transform(ScopeFilter scopeFilter) {
+                scopeTransformations.incrementAndGet();
+                return super.transform(scopeFilter);
+            }
+        };
+        MemoizingFilterTransformer<ArtifactFilter> transformer = new MemoizingFilterTransformer<>(delegate);
+        AndFilter filter = new AndFilter(
+                Arrays.asList(ScopeFilter.including("compile", "runtime"), ScopeFilter.excluding("runtime")));
+
+        ArtifactFilter artifactFilter = filter.transform(transformer);
+
+        // the scope filters are merged by the delegate, not transformed one by one
+        assertEquals(0, scopeTransformations.get());
+
+        assertTrue(artifactFilter.include(newArtifact("g:a:v", "compile")));
+
+        assertFalse(artifactFilter.include(newArtifact("g:a:v", "runtime")));
+    }
+
+    @Test
+    void checkTransformWithOptimizingTransformer() throws Exception {
+        MemoizingFilterTransformer<ArtifactFilter> transformer =
+                new MemoizingFilterTransformer<>(new OptimizingArtifactIncludeFilterTransformer());
+        TransformableFilter shared = ScopeFilter.including("compile", "runtime");
+        AndFilter filter = new AndFilter(Arrays.asList(
+                shared, new OrFilter(Arrays.asList(ScopeFilter.excluding("runtime"), shared))));
+
+        ArtifactFilter artifactFilter = filter.transform(transformer);
+
+        assertTrue(artifactFilter.include(newArtifact("g:a:v", "compile")));
+
+        assertTrue(artifactFilter.include(newArtifact("g:a:v", "runtime")));
+
+        assertFalse(artifactFilter.include(newArtifact("g:a:v", "test")));
+
+        assertSame(artifactFilter, filter.transform(transformer));
+    }
+
+    @Test
+    void checkLeastRecentlyUsedEvicted() {
+        MemoizingFilterTransformer<DependencyFilter> transformer =
+                new MemoizingFilterTransformer<>(new EclipseAetherFilterTransformer(), 2);
+        ScopeFilter compile = ScopeFilter.including("compile");
+        ScopeFilter runtime = ScopeFilter.including("runtime");
+        ScopeFilter test = ScopeFilter.including("test");
+
+        DependencyFilter compileFilter = compile.transform(transformer);
+        DependencyFilter runtimeFilter = runtime.transform(transformer);
+        assertSame(compileFilter, compile.transform(transformer));
+        test.transform(transformer);
+
+        assertEquals(2, transformer.size());
+        assertSame(compileFilter, compile.transform(transformer));
+        assertNotSame(runtimeFilter, runtime.transform(transformer));
+    }
+
+    @Test
+    void checkInvalidMaxSize() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new MemoizingFilterTransformer<>(new EclipseAetherFilterTransformer(), 0));
+    }
+
+    private static TransformableFilter newTree(String exclusion) {
+        return newTree(new ExclusionsFilter(Collections.singletonList(exclusion)));
+    }
+
+    private static TransformableFilter newTree(TransformableFilter operand) {
+        return new AndFilter(Arrays.asList(
+                ScopeFilter.including("compile"),
+                new OrFilter(Arrays.asList(operand, new ExclusionsFilter(Collections.singletonList("g:a"))))));
+    }
+
+    private static AbstractFilter newCallback() {
+        return new AbstractFilter() {
+            @Override
+            public boolean accept(Node node, List<Node> parents) {
+                return true;
+            }
+        };
+    }
+
+    private Artifact newArtifact(String coor, String scope) throws Exception {
+        String[] gav = coor.split(":");
+        return artifactFactory.createArtifact(gav[0], gav[1], gav[2], scope);
+    }
+}
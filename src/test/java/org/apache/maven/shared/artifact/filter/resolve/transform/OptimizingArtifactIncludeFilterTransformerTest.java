@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.artifact.filter.resolve.transform;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.apache.maven.plugin.testing.ArtifactStubFactory;
+import org.apache.maven.shared.artifact.filter.PatternExcludesArtifactFilter;
+import org.apache.maven.shared.artifact.filter.PatternIncludesArtifactFilter;
+import org.apache.maven.shared.artifact.filter.resolve.AbstractFilter;
+import org.apache.maven.shared.artifact.filter.resolve.AndFilter;
+import org.apache.maven.shared.artifact.filter.resolve.ExclusionsFilter;
+import org.apache.maven.shared.artifact.filter.resolve.Node;
+import org.apache.maven.shared.artifact.filter.resolve.OrFilter;
+import org.apache.maven.shared.artifact.filter.resolve.PatternExclusionsFilter;
+import org.apache.maven.shared.artifact.filter.resolve.PatternInclusionsFilter;
+import org.apache.maven.shared.artifact.filter.resolve.ScopeFilter;
+import org.apache.maven.shared.artifact.filter.resolve.TransformableFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OptimizingArtifactIncludeFilterTransformerTest {
+
+    private OptimizingArtifactIncludeFilterTransformer transformer;
+
+    private final ArtifactStubFactory artifactFactory = new ArtifactStubFactory();
+
+    @BeforeEach
+    void setUp() {
+        transformer = new OptimizingArtifactIncludeFilterTransformer();
+    }
+
+    @Test
+    void checkTransformNestedAndFilter() throws Exception {
+        AndFilter filter = new AndFilter(Arrays.asList(
+                ScopeFilter.including("compile", "runtime"),
+                new AndFilter(Arrays.asList(
+                        ScopeFilter.excluding("runtime"), new ExclusionsFilter(Collections.singletonList("x:a"))))));
+
+        ArtifactFilter dependencyFilter = filter.transform(transformer);
+
+        assertTrue(dependencyFilter.include(newArtifact("g:a:v", "compile")));
+
+        assertFalse(dependencyFilter.include(newArtifact("x:a:v", "compile")));
+
+        assertFalse(dependencyFilter.include(newArtifact("g:a:v", "runtime")));
+
+        assertFalse(dependencyFilter.include(newArtifact("g:a:v", "test")));
+    }
+
+    @Test
+    void checkTransformOrFilterOfScopes() throws Exception {
+        OrFilter filter = new OrFilter(Arrays.asList(
+                ScopeFilter.including("compile"),
+                new OrFilter(Arrays.asList(ScopeFilter.including("test"), ScopeFilter.including("custom")))));
+
+        ArtifactFilter dependencyFilter = filter.transform(transformer);
+
+        assertTrue(dependencyFilter.include(newArtifact("g:a:v", "compile")));
+
+        assertTrue(dependencyFilter.include(newArtifact("g:a:v", "test")));
+
+        assertTrue(dependencyFilter.include(newArtifact("g:a:v", "custom")));
+
+        assertFalse(dependencyFilter.include(newArtifact("g:a:v", "runtime")));
+
+        assertTrue(dependencyFilter.include(newArtifact("g:a:v", null)));
+
+        transformer.setIncludeNullScope(false);
+
+        assertFalse(filter.transform(transformer).include(newArtifact("g:a:v", null)));
+    }
+
+    @Test
+    void checkMergeSiblingPatternFilters() throws Exception {
+        OrFilter inclusions = new OrFilter(Arrays.asList(
+                new PatternInclusionsFilter(Collections.singletonList("g:*")),
+                new PatternInclusionsFilter(Collections.singletonList("h:*"))));
+
+        ArtifactFilter includesFilter = inclusions.transform(transformer);
+
+        assertInstanceOf(PatternIncludesArtifactFilter.class, includesFilter);
+        assertTrue(includesFilter.include(newArtifact("g:a:v", "compile")));
+        assertTrue(includesFilter.include(newArtifact("h:a:v", "compile")));
+        assertFalse(includesFilter.include(newArtifact("x:a:v", "compile")));
+
+        AndFilter exclusions = new AndFilter(Arrays.asList(
+                new PatternExclusionsFilter(Collections.singletonList("g:*")),
+                new PatternExclusionsFilter(Collections.singletonList("h:*"))));
+
+        ArtifactFilter excludesFilter = exclusions.transform(transformer);
+
+        assertInstanceOf(PatternExcludesArtifactFilter.class, excludesFilter);
+        assertFalse(excludesFilter.include(newArtifact("g:a:v", "compile")));
+        assertFalse(excludesFilter.include(newArtifact("h:a:v", "compile")));
+        assertTrue(excludesFilter.include(newArtifact("x:a:v", "compile")));
+    }
+
+    @Test
+    void checkKeepPatternFiltersWithNegativePatternsApart() throws Exception {
+        OrFilter filter = new OrFilter(Arrays.asList(
+                new PatternInclusionsFilter(Arrays.asList("!g:c", "g:*")),
+                new PatternInclusionsFilter(Collections.singletonList("g:c"))));
+
+        ArtifactFilter dependencyFilter = filter.transform(transformer);
+
+        assertTrue(dependencyFilter.include(newArtifact("g:c:v", "compile")));
+
+        assertTrue(dependencyFilter.include(newArtifact("g:a:v", "compile")));
+
+        assertFalse(dependencyFilter.include(newArtifact("x:a:v", "compile")));
+    }
+
+    @Test
+    void checkEvaluateScopesBeforeCallbacks() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        AbstractFilter callback = new AbstractFilter() {
+            @Override
+            public boolean accept(Node node, List<Node> parents) {
+                calls.incrementAndGet();
+                return true;
+            }
+        };
+        AndFilter filter =
+                new AndFilter(Arrays.<TransformableFilter>asList(callback, ScopeFilter.including("compile")));
+
+        ArtifactFilter dependencyFilter = filter.transform(transformer);
+
+        assertFalse(dependencyFilter.include(newArtifact("g:a:v", "test")));
+        assertEquals(0, calls.get());
+
+        assertTrue(dependencyFilter.include(newArtifact("g:a:v", "compile")));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void checkTransformEmptyFilters() throws Exception {
+        Artifact artifact = newArtifact("g:a:v", "compile");
+
+        assertTrue(new AndFilter(Collections.emptyList()).transform(transformer).include(artifact));
+
+        assertFalse(new OrFilter(Collections.emptyList()).transform(transformer).include(artifact));
+    }
+
+    private Artifact newArtifact(String coor, String scope) throws Exception {
+        String[] gav = coor.split(":");
+        return artifactFactory.createArtifact(gav[0], gav[1], gav[2], scope);
+    }
+}